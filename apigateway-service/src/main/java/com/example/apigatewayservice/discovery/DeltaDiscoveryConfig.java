@@ -0,0 +1,53 @@
+package com.example.apigatewayservice.discovery;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * discovery.delta.enabled=true 면 discovery 서버가 push 하는 등록/해제 변경으로 lb:// 인스턴스 목록을 유지한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "discovery.delta.enabled", havingValue = "true")
+@LoadBalancerClients(defaultConfiguration = DeltaDiscoveryLoadBalancerConfiguration.class)
+public class DeltaDiscoveryConfig {
+
+    @Bean
+    public DiscoveryIndex discoveryIndex() {
+        return new DiscoveryIndex();
+    }
+
+    @Bean
+    public DeltaDiscoveryPoller deltaDiscoveryPoller(Environment env, DiscoveryIndex discoveryIndex,
+                                                     MeterRegistry meterRegistry) {
+        DeltaDiscoveryPoller poller = new DeltaDiscoveryPoller(
+                changesUrl(env),
+                env.getProperty("discovery.delta.timeout-millis", Long.class, 30_000L),
+                env.getProperty("discovery.delta.retry-millis", Long.class, 1_000L),
+                env.getProperty("discovery.delta.stale-after-millis", Long.class, 30_000L),
+                discoveryIndex, meterRegistry);
+        poller.start();
+        return poller;
+    }
+
+    /**
+     * discovery.delta.url 이 없으면 eureka.client.service-url.defaultZone 의 첫 번째 주소에서
+     * /eureka 경로를 /discovery/changes 로 바꿔 쓴다. (http://host:8761/eureka -> http://host:8761/discovery/changes)
+     */
+    static String changesUrl(Environment env) {
+        String url = env.getProperty("discovery.delta.url");
+        if (StringUtils.hasText(url)) {
+            return url;
+        }
+        String zones = env.getProperty("eureka.client.service-url.defaultZone", "http://localhost:8761/eureka/");
+        String zone = StringUtils.trimTrailingCharacter(zones.split(",")[0].trim(), '/');
+        if (zone.endsWith("/eureka")) {
+            zone = zone.substring(0, zone.length() - "/eureka".length());
+        }
+        return zone + "/discovery/changes";
+    }
+}
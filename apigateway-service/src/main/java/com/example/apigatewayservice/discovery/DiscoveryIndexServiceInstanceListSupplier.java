@@ -0,0 +1,45 @@
+package com.example.apigatewayservice.discovery;
+
+import java.util.List;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link DiscoveryIndex} 의 인스턴스 목록을 load balancer 에 넘긴다.
+ * index 가 동기화되지 않은 동안이나 index 에 없는 서비스는 delegate (Eureka client) 를 쓴다.
+ * index 는 메모리에 있으므로 기본 설정의 CachingServiceInstanceListSupplier 를 거치지 않고 호출마다 현재 목록을 읽는다.
+ */
+public class DiscoveryIndexServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private final ServiceInstanceListSupplier delegate;
+    private final DiscoveryIndex discoveryIndex;
+
+    public DiscoveryIndexServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                     DiscoveryIndex discoveryIndex) {
+        this.delegate = delegate;
+        this.discoveryIndex = discoveryIndex;
+    }
+
+    @Override
+    public String getServiceId() {
+        return delegate.getServiceId();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.defer(() -> {
+            List<ServiceInstance> instances = discoveryIndex.getInstances(getServiceId());
+            return instances != null ? Flux.just(instances) : delegate.get();
+        });
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return Flux.defer(() -> {
+            List<ServiceInstance> instances = discoveryIndex.getInstances(getServiceId());
+            return instances != null ? Flux.just(instances) : delegate.get(request);
+        });
+    }
+}
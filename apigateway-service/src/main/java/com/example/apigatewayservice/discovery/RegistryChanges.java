@@ -0,0 +1,17 @@
+package com.example.apigatewayservice.discovery;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * /discovery/changes 응답. reset 이면 instances 로 전체를 교체한 뒤 changes 를 적용한다.
+ */
+@Data
+public class RegistryChanges {
+    private String epoch;
+    private long version;
+    private boolean reset;
+    private List<RegistryChange> instances = new ArrayList<>();
+    private List<RegistryChange> changes = new ArrayList<>();
+}
@@ -0,0 +1,75 @@
+package com.example.apigatewayservice.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 요청마다 한 줄의 구조화된 access log (method, route, status, latency, bytes) 를 남기는 필터
+ * - 값은 {@link AccessLogWriter} 의 ring buffer 에만 담고, 포맷팅과 로그 출력은 writer 스레드가 한다.
+ * - sampleRate (0.0 ~ 1.0) 비율만 기록하며, 5xx 응답은 sampling 과 관계없이 항상 기록한다.
+ *   예외로 끝난 요청은 이 시점에 응답 상태가 아직 정해지지 않았으므로 500 으로 기록한다.
+ * - latency 는 이 필터 이후의 필터 체인과 upstream 호출을 합친 시간이다.
+ */
+@Component
+public class AccessLogFilter extends AbstractGatewayFilterFactory<AccessLogFilter.Config> {
+
+    /**
+     * rate limit 거절, 캐시 응답 등 다른 필터가 끝낸 요청도 기록하도록 가장 먼저 실행한다.
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final AccessLogWriter accessLogWriter;
+
+    public AccessLogFilter(AccessLogWriter accessLogWriter) {
+        super(Config.class);
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        double sampleRate = config.getSampleRate();
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> record(exchange, sampleRate, start, signal));
+        }, ORDER);
+    }
+
+    private void record(ServerWebExchange exchange, double sampleRate, long start, SignalType signal) {
+        long latencyNanos = System.nanoTime() - start;
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatusCode statusCode = response.getStatusCode();
+        int status = statusCode == null ? 0 : statusCode.value();
+        if (signal == SignalType.ON_ERROR && status < 500) {
+            status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+        if (status < 500 && !sampled(sampleRate)) {
+            return;
+        }
+
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        accessLogWriter.record(exchange.getRequest().getMethod(), route == null ? null : route.getId(), status,
+                latencyNanos, response.getHeaders().getContentLength());
+    }
+
+    private static boolean sampled(double sampleRate) {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    @Data
+    public static class Config {
+        private double sampleRate = 1.0;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.apigatewayservice.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * access log 이벤트를 미리 할당해 둔 ring buffer 에 담고, 전용 스레드 하나가 꺼내서 "access-log" logger 로 쓴다.
+ * - 요청 스레드(Netty event loop)는 slot 하나를 CAS 로 차지해 값만 채우므로 문자열 포맷팅, 로그 I/O, 객체 할당이 없다.
+ * - buffer 가 가득 차면 기다리지 않고 버린다. 버린 건수는 access_log.dropped 로 노출한다.
+ * - 비어 있으면 writer 스레드는 잠들고, 잠든 동안 들어온 첫 이벤트가 깨운다. (요청이 없을 때 CPU 를 쓰지 않는다)
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access-log");
+    // 깨우기를 놓치더라도 이 간격 안에는 다시 확인한다.
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    private final LongAdder dropped = new LongAdder();
+
+    // 아래 필드는 writer 스레드만 사용한다.
+    private final Consumer<String> sink;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running;
+    private volatile boolean parked;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public AccessLogWriter(@Value("${access_log.buffer-size:8192}") int bufferSize, MeterRegistry meterRegistry) {
+        this(bufferSize, ACCESS_LOG::info);
+        Gauge.builder("access_log.dropped", dropped, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("access_log.pending", this, AccessLogWriter::pending).register(meterRegistry);
+        start();
+    }
+
+    AccessLogWriter(int bufferSize, Consumer<String> sink) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.sink = sink;
+    }
+
+    /**
+     * @param bytes 응답 크기, 알 수 없으면 -1
+     * @return buffer 가 가득 차서 버렸으면 false
+     */
+    public boolean record(HttpMethod method, String routeId, int status, long latencyNanos, long bytes) {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestamp = System.currentTimeMillis();
+        slot.method = method;
+        slot.routeId = routeId;
+        slot.status = status;
+        slot.latencyNanos = latencyNanos;
+        slot.bytes = bytes;
+        slot.sequence = sequence;
+        if (parked) {
+            wakeUp();
+        }
+        return true;
+    }
+
+    /**
+     * 발행된 이벤트를 순서대로 꺼내 쓴다. 아직 값을 채우는 중인 slot 을 만나면 멈춘다.
+     * 포맷이나 쓰기에 실패한 이벤트는 건너뛰고 예외를 던지며, 다음 호출은 그 다음 이벤트부터 쓴다.
+     *
+     * @return 쓴 이벤트 수
+     */
+    int drain() {
+        int drained = 0;
+        while (true) {
+            long next = tail;
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.sequence != next) {
+                return drained;
+            }
+            try {
+                format(slot);
+            } finally {
+                slot.method = null;
+                slot.routeId = null;
+                // tail 을 옮긴 뒤에는 producer 가 slot 을 덮어쓸 수 있으므로 값을 모두 읽은 다음 옮긴다.
+                // 포맷에 실패해도 옮겨야 그 slot 에서 멈춰 같은 이벤트를 계속 다시 읽지 않는다. (그 이벤트는 버린다)
+                tail = next + 1;
+            }
+            sink.accept(line.toString());
+            drained++;
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    long pending() {
+        return head.get() - tail;
+    }
+
+    void start() {
+        running = true;
+        writerThread = new Thread(this::run, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                if (drain() > 0) {
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                log.warn("access log write failed: {}", e.toString());
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            parked = true;
+            // parked 를 올린 뒤 다시 확인해야, 그 사이에 발행된 이벤트의 깨우기를 놓치지 않는다.
+            if (pending() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked = false;
+        }
+    }
+
+    private void wakeUp() {
+        Thread thread = writerThread;
+        if (thread != null) {
+            parked = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void format(Slot slot) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(slot.timestamp))
+                .append(" method=").append(slot.method == null ? "-" : slot.method.name())
+                .append(" route=").append(slot.routeId == null ? "-" : slot.routeId)
+                .append(" status=").append(slot.status)
+                .append(" latency_us=").append(TimeUnit.NANOSECONDS.toMicros(slot.latencyNanos))
+                .append(" bytes=");
+        if (slot.bytes < 0) {
+            line.append('-');
+        } else {
+            line.append(slot.bytes);
+        }
+    }
+
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private long timestamp;
+        private HttpMethod method;
+        private String routeId;
+        private int status;
+        private long latencyNanos;
+        private long bytes;
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.apigatewayservice.filter;
 
-import com.example.apigatewayservice.filter.CustomFilter.Config;
+import com.example.apigatewayservice.metrics.RouteMetrics;
 import com.example.apigatewayservice.util.JwtUtil;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
@@ -21,19 +23,31 @@ import reactor.core.publisher.Mono;
 @Component
 public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory<AuthorizationHeaderFilter.Config> {
 
+    /**
+     * 검증된 JWT 의 subject(userId) 를 담는 exchange attribute. 이후 필터(캐시, rate limit 등)의 key 로 사용한다.
+     */
+    public static final String SUBJECT_ATTRIBUTE = AuthorizationHeaderFilter.class.getName() + ".subject";
+
+    /**
+     * 응답 캐시/rate limit 등 subject 를 사용하는 필터보다 먼저 실행되도록 route 내 순서와 관계없이 고정한다.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 20;
+
     private final JwtUtil jwtUtil;
+    private final RouteMetrics routeMetrics;
 
     @Autowired
-    public AuthorizationHeaderFilter(Environment env, JwtUtil jwtUtil) {
+    public AuthorizationHeaderFilter(Environment env, JwtUtil jwtUtil, RouteMetrics routeMetrics) {
         super(AuthorizationHeaderFilter.Config.class);
         this.jwtUtil = jwtUtil;
+        this.routeMetrics = routeMetrics;
     }
 
 
     @Override
     public GatewayFilter apply(Config config) {
         // Custom Pre Filter
-        return (exchange, chain) -> {
+        return new OrderedGatewayFilter((exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
 
             if(!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
@@ -43,12 +57,16 @@ public class AuthorizationHeaderFilter extends AbstractGatewayFilterFactory<Auth
             String authHeader = request.getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
             String jwt = authHeader.replace("Bearer ", "");
 
-            if (!jwtUtil.isValid(jwt)) {
+            long start = System.nanoTime();
+            String subject = jwtUtil.getSubject(jwt);
+            routeMetrics.recordJwt(RouteMetrics.routeId(exchange), subject != null, System.nanoTime() - start);
+            if (subject == null) {
                 return onError(exchange, "JWT token is not valid", HttpStatus.UNAUTHORIZED);
             }
+            exchange.getAttributes().put(SUBJECT_ATTRIBUTE, subject);
 
             return chain.filter(exchange);
-        };
+        }, ORDER);
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
@@ -1,39 +0,0 @@
-package com.example.apigatewayservice.filter;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
-
-@Component
-@Slf4j
-public class CustomFilter extends AbstractGatewayFilterFactory<CustomFilter.Config> {
-
-    public CustomFilter() {
-        super(Config.class);
-    }
-
-    @Override
-    public GatewayFilter apply(Config config) {
-        // Custom Pre Filter
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            ServerHttpResponse response = exchange.getResponse();
-            log.info("custom pre filter: request ID -> {}", request.getId());
-
-            // Custom Post Filter
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                log.info("custom post filter: http status code -> {}", response.getStatusCode());
-            }));
-        };
-    }
-
-    public static class Config {
-        //todo: CustomFilter의 설정정보 기입
-    }
-
-
-}
@@ -1,50 +0,0 @@
-package com.example.apigatewayservice.filter;
-
-import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
-
-@Component
-@Slf4j
-public class GlobalFilter extends AbstractGatewayFilterFactory<GlobalFilter.Config> {
-
-    public GlobalFilter() {
-        super(Config.class);
-    }
-
-    @Override
-    public GatewayFilter apply(Config config) {
-        // Custom Pre Filter
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            ServerHttpResponse response = exchange.getResponse();
-            log.info("GLOBAL filter: Base Message -> {}", config.getBaseMessage());
-
-            if (config.isPreLogger()) {
-                log.info("GLOBAL filter START: request ID -> {}", request.getId());
-            }
-
-            // Custom Post Filter
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                if (config.isPostLogger()) {
-                    log.info("GLOBAL filter END: http status code -> {}", response.getStatusCode());
-                }
-            }));
-        };
-    }
-
-    @Data
-    public static class Config {
-        //todo: CustomFilter의 설정정보 기입
-        private String BaseMessage;
-        private boolean preLogger;
-        private boolean postLogger;
-    }
-
-
-}
@@ -0,0 +1,208 @@
+package com.example.apigatewayservice.filter;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 사용자별 token bucket 으로 요청 수를 제한하는 필터
+ * - bucket key 는 AuthorizationHeaderFilter 가 검증한 JWT subject, 인증 필터가 없는 route 는 클라이언트 IP 이다.
+ * - 초당 replenishRate 개씩 채워지고 최대 burstCapacity 개까지 쌓인다. 토큰이 없으면 429 와 Retry-After(초)를 반환한다.
+ * - bucket 은 CAS 한 번으로 갱신되는 lock-free 구조이며, 최대 maxBuckets 개까지만 보관한다.
+ *   가득 차면 토큰이 모두 다시 채워진 bucket 을 지워 자리를 만들고, 그래도 자리가 없으면 새 key 의 요청만 429 로 거절한다.
+ *   이미 bucket 이 있는 사용자는 key 를 바꿔 가며 보내는 요청의 영향을 받지 않는다.
+ * - idleMillis 동안 쓰이지 않은 bucket 은 요청 처리와 별도로 1초마다 정리한다.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    /**
+     * subject 를 key 로 쓰기 위해 AuthorizationHeaderFilter 다음, upstream 호출을 줄이는 캐시 필터보다 먼저 실행한다.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+
+    private static final long EVICT_INTERVAL_SECONDS = 1;
+
+    // route 가 다시 만들어지면 이전 필터의 Buckets 는 참조가 사라져 정리 대상에서도 빠진다.
+    private final Set<Buckets> activeBuckets =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private final Disposable evictionTask;
+
+    public RateLimitFilter() {
+        super(Config.class);
+        this.evictionTask = Schedulers.parallel().schedulePeriodically(this::evictIdle,
+                EVICT_INTERVAL_SECONDS, EVICT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionTask.dispose();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Buckets buckets = new Buckets(config);
+        activeBuckets.add(buckets);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long retryAfterNanos = buckets.tryAcquire(keyOf(exchange), System.nanoTime());
+            if (retryAfterNanos == 0L) {
+                return chain.filter(exchange);
+            }
+
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1L, (retryAfterNanos + 999_999_999L) / 1_000_000_000L)));
+            return response.setComplete();
+        }, ORDER);
+    }
+
+    private void evictIdle() {
+        List<Buckets> snapshot;
+        synchronized (activeBuckets) {
+            snapshot = new ArrayList<>(activeBuckets);
+        }
+        long now = System.nanoTime();
+        snapshot.forEach(buckets -> buckets.evictIdle(now));
+    }
+
+    private static String keyOf(ServerWebExchange exchange) {
+        String subject = exchange.getAttribute(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE);
+        if (subject != null) {
+            return "sub:" + subject;
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + remoteAddress.getAddress().getHostAddress();
+    }
+
+    static final class Buckets {
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final long intervalNanos;
+        private final int burstCapacity;
+        private final int maxBuckets;
+        private final long idleNanos;
+        private final AtomicLong lastSweep;
+        private volatile boolean full;
+
+        Buckets(Config config) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate());
+            this.burstCapacity = Math.max(1, config.getBurstCapacity());
+            this.maxBuckets = Math.max(1, config.getMaxBuckets());
+            this.idleNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleMillis());
+            this.lastSweep = new AtomicLong(System.nanoTime() - intervalNanos);
+        }
+
+        /**
+         * @return 허용되면 0, 거절되면 다시 시도할 때까지 남은 시간(nanos)
+         */
+        long tryAcquire(String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxBuckets && !makeRoom(now)) {
+                    return intervalNanos;
+                }
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(intervalNanos, burstCapacity));
+            }
+            return bucket.tryAcquire(now);
+        }
+
+        /**
+         * 토큰이 모두 다시 채워진 bucket 은 새로 만든 bucket 과 같으므로 지워도 제한이 풀리지 않는다.
+         * 가득 찬 동안 새 key 마다 전체를 훑지 않도록 intervalNanos 에 한 번만 정리한다.
+         *
+         * @return 새 bucket 을 넣을 자리가 있으면 true
+         */
+        private boolean makeRoom(long now) {
+            long last = lastSweep.get();
+            if (now - last >= intervalNanos && lastSweep.compareAndSet(last, now)) {
+                buckets.values().removeIf(bucket -> bucket.isIdle(now, 0L));
+                boolean stillFull = buckets.size() >= maxBuckets;
+                if (stillFull && !full) {
+                    log.warn("rate limit buckets are full ({}), rejecting new keys", maxBuckets);
+                }
+                full = stillFull;
+            }
+            return buckets.size() < maxBuckets;
+        }
+
+        int size() {
+            return buckets.size();
+        }
+
+        void evictIdle(long now) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            full = buckets.size() >= maxBuckets;
+        }
+    }
+
+    /**
+     * GCRA 방식의 token bucket: 다음 토큰이 허용되는 이론적 시각(tat) 하나만 AtomicLong 으로 관리한다.
+     * burstCapacity 개까지 한꺼번에 허용하고, 이후에는 intervalNanos 마다 한 개씩 허용한다.
+     */
+    static final class TokenBucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        TokenBucket(long intervalNanos, int burstCapacity) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = intervalNanos * burstCapacity;
+        }
+
+        /**
+         * @return 허용되면 0, 거절되면 다음 토큰까지 남은 시간(nanos)
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = (tat == Long.MIN_VALUE || tat - now < 0 ? now : tat) + intervalNanos;
+                long waitNanos = next - now - burstNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0L;
+                }
+            }
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            long tat = theoreticalArrival.get();
+            return tat == Long.MIN_VALUE || now - tat > idleNanos;
+        }
+    }
+
+    @Data
+    public static class Config {
+        private int replenishRate = 10;
+        private int burstCapacity = 20;
+        private int maxBuckets = 100_000;
+        private long idleMillis = 60_000;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.apigatewayservice.filter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * GET 응답 전체를 route 별 메모리 캐시에 보관했다가 다시 내려주는 필터
+ * - ttlMillis 동안 유효하고, 전체 크기가 maxBytes 를 넘으면 가장 오래 사용되지 않은 응답부터 버린다. (LRU)
+ * - varyBy 에 지정한 요청 헤더 값이 다르면 다른 응답으로 취급한다. Authorization 은 검증된 JWT subject 로 구분한다.
+ * - 캐시된 응답에는 ETag 를 붙이고, If-None-Match 가 같으면 304 로 응답한다.
+ * - 같은 key 의 miss 가 동시에 들어오면 upstream 은 한 번만 호출하고 나머지는 그 응답을 함께 받는다.
+ * - 200 응답만 저장하며, Cache-Control: no-store 나 Set-Cookie 가 있는 응답은 저장하지 않는다.
+ * - maxEntryBytes 보다 큰 응답은 복사하지 않고 그대로 전달만 한다.
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    public ResponseCacheFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Store store = new Store(config.getMaxBytes());
+        SingleFlight singleFlight = new SingleFlight(CACHE_STATUS_HEADER, "MISS", "COLLAPSED",
+                config.getMaxEntryBytes());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || bypass(request)) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(exchange, config);
+            Entry entry = store.get(key);
+            if (entry != null) {
+                return writeHit(exchange, entry);
+            }
+            // 조건부 요청은 upstream 이 304 로 답할 수 있으므로 조건이 같은 요청끼리만 묶는다.
+            String flightKey = key + "|" + request.getHeaders().getIfNoneMatch();
+            return singleFlight.execute(flightKey, exchange, chain, response -> store(store, key, response, config));
+        }, ORDER);
+    }
+
+    private void store(Store store, String key, CachedResponse response, Config config) {
+        HttpHeaders headers = response.getHeaders();
+        if (response.getStatus().value() != HttpStatus.OK.value()
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || String.valueOf(headers.getCacheControl()).contains("no-store")) {
+            return;
+        }
+
+        HttpHeaders cachedHeaders = new HttpHeaders();
+        cachedHeaders.addAll(headers);
+        if (cachedHeaders.getETag() == null) {
+            cachedHeaders.setETag("\"" + DigestUtils.md5DigestAsHex(response.getBody()) + "\"");
+        }
+        long now = System.currentTimeMillis();
+        store.put(key, new Entry(new CachedResponse(response.getStatus(), cachedHeaders, response.getBody()),
+                now, now + config.getTtlMillis()));
+    }
+
+    private Mono<Void> writeHit(ServerWebExchange exchange, Entry entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders cachedHeaders = entry.response.getHeaders();
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE,
+                String.valueOf((System.currentTimeMillis() - entry.storedAt) / 1000));
+
+        String etag = cachedHeaders.getETag();
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            response.getHeaders().setCacheControl(cachedHeaders.getCacheControl());
+            return response.setComplete();
+        }
+        return entry.response.writeTo(exchange);
+    }
+
+    /**
+     * 스트리밍 응답(NDJSON, SSE)과 Cache-Control: no-cache 요청은 캐시를 거치지 않는다.
+     */
+    private static boolean bypass(ServerHttpRequest request) {
+        String accept = String.valueOf(request.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        String cacheControl = String.valueOf(request.getHeaders().getCacheControl());
+        return accept.contains("ndjson") || accept.contains("event-stream") || cacheControl.contains("no-cache");
+    }
+
+    private static String cacheKey(ServerWebExchange exchange, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        for (String header : config.getVaryBy()) {
+            key.append('|').append(header).append('=');
+            String subject = exchange.getAttribute(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE);
+            if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header) && subject != null) {
+                key.append("sub:").append(subject);
+            } else {
+                key.append(request.getHeaders().getOrDefault(header, List.of()));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 접근 순서 기준 LRU. 전체 본문 크기(maxBytes)를 넘으면 오래된 항목부터 제거한다.
+     */
+    static final class Store {
+        private final long maxBytes;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long totalBytes;
+
+        Store(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        Entry get(String key) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+                    remove(key);
+                    return null;
+                }
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String key, Entry entry) {
+            if (entry.size() > maxBytes) {
+                return;
+            }
+            lock.lock();
+            try {
+                remove(key);
+                entries.put(key, entry);
+                totalBytes += entry.size();
+                Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+                while (totalBytes > maxBytes && eldest.hasNext()) {
+                    totalBytes -= eldest.next().getValue().size();
+                    eldest.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long totalBytes() {
+            lock.lock();
+            try {
+                return totalBytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(String key) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.size();
+            }
+        }
+    }
+
+    static final class Entry {
+        private final CachedResponse response;
+        private final long storedAt;
+        private final long expiresAt;
+
+        Entry(CachedResponse response, long storedAt, long expiresAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        long size() {
+            return response.getBody().length;
+        }
+    }
+
+    @Data
+    public static class Config {
+        private long ttlMillis = 10_000;
+        private long maxBytes = 10 * 1024 * 1024;
+        private long maxEntryBytes = 1024 * 1024;
+        private List<String> varyBy = new ArrayList<>();
+    }
+}
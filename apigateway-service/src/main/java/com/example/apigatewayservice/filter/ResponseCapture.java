@@ -0,0 +1,101 @@
+package com.example.apigatewayservice.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CancellationException;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 클라이언트로 나가는 응답을 그대로 전달하면서 본문을 복사해 {@link #result()} 로 알려주는 decorator
+ * 같은 upstream 응답을 기다리는 다른 요청(single-flight)이나 응답 캐시가 결과를 받아 쓴다.
+ * 본문을 모아서 보내지 않으므로 클라이언트는 첫 바이트를 바로 받고, maxCaptureBytes 를 넘는 응답은
+ * 복사를 멈추고 결과를 오류로 확정한다. (큰 응답이 gateway heap 에 통째로 쌓이지 않도록)
+ */
+class ResponseCapture extends ServerHttpResponseDecorator {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Sinks.One<CachedResponse> sink = Sinks.one();
+    private final Mono<CachedResponse> result = sink.asMono();
+    private final long maxCaptureBytes;
+    // 본문 복사본. maxCaptureBytes 를 넘으면 버리고 null 로 둔다.
+    private ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    ResponseCapture(ServerHttpResponse delegate, long maxCaptureBytes) {
+        super(delegate);
+        this.maxCaptureBytes = maxCaptureBytes;
+    }
+
+    /**
+     * 응답 본문이 모두 복사되면 한 번 발행된다. 늦게 구독해도 같은 결과를 받는다.
+     */
+    Mono<CachedResponse> result() {
+        return result;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        // 본문은 받는 대로 클라이언트로 흘려보내고, maxCaptureBytes 까지만 복사해 둔다.
+        return super.writeWith(Flux.from(body).doOnNext(this::copy))
+                .doOnSuccess(done -> captured(copied == null ? EMPTY : copied.toByteArray()))
+                .doOnError(sink::tryEmitError);
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).concatMap(Flux::from));
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        captured(EMPTY);
+        return super.setComplete();
+    }
+
+    /**
+     * 필터 체인이 끝났을 때 호출한다. 본문 없이 끝났으면 빈 본문으로, 취소/오류면 오류로 결과를 확정한다.
+     */
+    void finish(SignalType signal) {
+        if (signal == SignalType.ON_COMPLETE) {
+            captured(EMPTY);
+        } else {
+            sink.tryEmitError(new CancellationException("upstream response was not completed: " + signal));
+        }
+    }
+
+    private void copy(DataBuffer buffer) {
+        if (copied == null) {
+            return;
+        }
+        int length = buffer.readableByteCount();
+        if (copied.size() + (long) length > maxCaptureBytes) {
+            copied = null;
+            sink.tryEmitError(new IllegalStateException("response body exceeds " + maxCaptureBytes + " bytes"));
+            return;
+        }
+        byte[] bytes = new byte[length];
+        // 읽은 위치를 되돌려 클라이언트로 나가는 버퍼는 그대로 둔다.
+        int readPosition = buffer.readPosition();
+        buffer.read(bytes);
+        buffer.readPosition(readPosition);
+        copied.write(bytes, 0, length);
+    }
+
+    private void captured(byte[] body) {
+        HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(getHeaders());
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        sink.tryEmitValue(new CachedResponse(status, headers, body));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.apigatewayservice.filter;
+
+import com.example.apigatewayservice.metrics.RouteMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 모든 route 의 전체 처리 시간을 gateway.route.requests 로 기록한다.
+ * 다른 필터가 끝낸 요청(401, 429, 캐시 응답 등)도 포함하도록 가장 먼저 실행한다.
+ * 예외로 끝난 요청은 이 시점에 응답 상태가 아직 정해지지 않았으므로 5xx 로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private final RouteMetrics routeMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+            int status = statusCode == null ? 0 : statusCode.value();
+            if (signal == SignalType.ON_ERROR && status < 500) {
+                status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+            }
+            routeMetrics.recordRequest(RouteMetrics.routeId(exchange), status, System.nanoTime() - start);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.apigatewayservice.filter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 같은 key 의 upstream 요청이 진행 중이면 새로 보내지 않고 그 응답을 함께 받게 한다.
+ * - 먼저 들어온 요청(leader)만 필터 체인을 타고, 나머지(follower)는 leader 의 응답 복사본을 받는다.
+ * - leader 가 취소/실패하거나 응답이 maxCaptureBytes 보다 크면 follower 는 각자 필터 체인을 다시 탄다.
+ * - 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ * statusHeader 가 있으면 응답에 leader/follower 여부를 표시한다.
+ */
+final class SingleFlight {
+
+    private final Map<String, Mono<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final String statusHeader;
+    private final String leaderStatus;
+    private final String followerStatus;
+    private final long maxCaptureBytes;
+
+    SingleFlight(String statusHeader, String leaderStatus, String followerStatus, long maxCaptureBytes) {
+        this.statusHeader = statusHeader;
+        this.leaderStatus = leaderStatus;
+        this.followerStatus = followerStatus;
+        this.maxCaptureBytes = maxCaptureBytes;
+    }
+
+    /**
+     * @param onLeaderResponse leader 의 응답 본문까지 복사되면 한 번 호출된다. (응답 캐시 저장 등)
+     */
+    Mono<Void> execute(String key, ServerWebExchange exchange, GatewayFilterChain chain,
+                       Consumer<CachedResponse> onLeaderResponse) {
+        ResponseCapture capture = new ResponseCapture(exchange.getResponse(), maxCaptureBytes);
+        Mono<CachedResponse> leader = inFlight.putIfAbsent(key, capture.result());
+        if (leader != null) {
+            return leader
+                    .flatMap(response -> {
+                        setStatus(exchange, followerStatus);
+                        return response.writeTo(exchange);
+                    })
+                    .onErrorResume(e -> chain.filter(exchange));
+        }
+
+        capture.result().subscribe(onLeaderResponse, e -> { });
+        // 복사된 헤더에는 포함되지 않도록 응답이 나가기 직전에 붙인다.
+        exchange.getResponse().beforeCommit(() -> {
+            setStatus(exchange, leaderStatus);
+            return Mono.empty();
+        });
+        return chain.filter(exchange.mutate().response(capture).build())
+                .doFinally(signal -> {
+                    capture.finish(signal);
+                    inFlight.remove(key, capture.result());
+                });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void setStatus(ServerWebExchange exchange, String status) {
+        if (statusHeader != null) {
+            exchange.getResponse().getHeaders().set(statusHeader, status);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.apigatewayservice.filter;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * 동일한 GET/HEAD 요청(method + path + query + 인증 subject)이 upstream 에 이미 나가 있으면
+ * 새로 보내지 않고 진행 중인 요청의 응답을 함께 받는다. (single-flight)
+ * 응답을 저장하지는 않으므로, 진행 중인 요청이 끝난 뒤 들어온 요청은 다시 upstream 으로 간다.
+ * 스트리밍 응답(NDJSON, SSE) 요청은 묶지 않는다.
+ */
+@Component
+@Slf4j
+public class SingleFlightFilter extends AbstractGatewayFilterFactory<SingleFlightFilter.Config> {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    public static final String SINGLE_FLIGHT_HEADER = "X-Single-Flight";
+
+    public SingleFlightFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        SingleFlight singleFlight = new SingleFlight(config.isStatusHeader() ? SINGLE_FLIGHT_HEADER : null,
+                "LEADER", "FOLLOWER", config.getMaxBytes());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if ((request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD)
+                    || isStreaming(request)) {
+                return chain.filter(exchange);
+            }
+            return singleFlight.execute(flightKey(exchange), exchange, chain, response -> { });
+        }, ORDER);
+    }
+
+    private static boolean isStreaming(ServerHttpRequest request) {
+        String accept = String.valueOf(request.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        return accept.contains("ndjson") || accept.contains("event-stream");
+    }
+
+    private static String flightKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(request.getMethod().name()).append(' ')
+                .append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        // 인증된 요청은 subject 별로, 인증 필터가 없는 route 는 Authorization 헤더 값 별로 구분한다.
+        String subject = exchange.getAttribute(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE);
+        if (subject != null) {
+            key.append("|sub:").append(subject);
+        } else {
+            key.append('|').append(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        }
+        key.append('|').append(request.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        key.append('|').append(request.getHeaders().getIfNoneMatch());
+        return key.toString();
+    }
+
+    @Data
+    public static class Config {
+        // 응답에 X-Single-Flight: LEADER|FOLLOWER 헤더를 붙일지 여부
+        private boolean statusHeader = false;
+        // 이보다 큰 응답은 follower 에게 나눠주지 않고 follower 가 각자 upstream 을 호출한다.
+        private long maxBytes = 1024 * 1024;
+    }
+}
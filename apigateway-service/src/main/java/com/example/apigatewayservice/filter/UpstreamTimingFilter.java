@@ -0,0 +1,36 @@
+package com.example.apigatewayservice.filter;
+
+import com.example.apigatewayservice.metrics.RouteMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * upstream 호출의 time to first byte 를 gateway.route.upstream 으로 기록한다.
+ * NettyWriteResponseFilter 바로 안쪽에서 실행되므로, 이후 체인(load balancer 선택, NettyRoutingFilter)은
+ * upstream 응답 헤더를 받는 시점에 끝난다. 응답 본문 전송 시간은 포함하지 않는다.
+ * 캐시 응답처럼 upstream 을 호출하지 않은 요청은 기록하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    private final RouteMetrics routeMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(v -> routeMetrics.recordUpstream(RouteMetrics.routeId(exchange), System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.apigatewayservice.loadbalancer;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * 서비스 인스턴스별 응답 시간 EWMA, 처리 중인 요청 수, 연속 실패 횟수
+ * - {@link LatencyAwareLoadBalancer} 가 인스턴스를 고를 때 읽고, {@link LatencyRecordingLifecycle} 이 요청 결과를 기록한다.
+ * - failureThreshold 번 연속으로 실패한 인스턴스는 ejectMillis 동안 선택 대상에서 뺀다.
+ * - 처리 중인 요청은 요청마다 시작 시각과 함께 기록한다. 취소(cancel)되어 완료가 기록되지 않은 요청은
+ *   inFlightTimeoutMillis 가 지나면 처리 중인 요청 수에서 빠진다.
+ */
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final Map<String, Map<String, InstanceStats>> statsByService = new ConcurrentHashMap<>();
+    private final double ewmaAlpha;
+    private final int failureThreshold;
+    private final long ejectNanos;
+    private final long inFlightTimeoutNanos;
+    private final LongSupplier nanoClock;
+
+    public InstanceStatsRegistry(double ewmaAlpha, int failureThreshold, long ejectMillis,
+                                 long inFlightTimeoutMillis) {
+        this(ewmaAlpha, failureThreshold, ejectMillis, inFlightTimeoutMillis, System::nanoTime);
+    }
+
+    InstanceStatsRegistry(double ewmaAlpha, int failureThreshold, long ejectMillis, long inFlightTimeoutMillis,
+                          LongSupplier nanoClock) {
+        this.ewmaAlpha = ewmaAlpha;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.ejectNanos = TimeUnit.MILLISECONDS.toNanos(ejectMillis);
+        this.inFlightTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(inFlightTimeoutMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        Map<String, InstanceStats> stats = statsByService.get(instance.getServiceId());
+        if (stats == null) {
+            stats = statsByService.computeIfAbsent(instance.getServiceId(), k -> new ConcurrentHashMap<>());
+        }
+        String key = keyOf(instance);
+        InstanceStats instanceStats = stats.get(key);
+        return instanceStats != null ? instanceStats : stats.computeIfAbsent(key, InstanceStats::new);
+    }
+
+    /**
+     * 더 이상 등록되어 있지 않은 인스턴스(재시작으로 포트가 바뀐 인스턴스 등)의 통계를 지운다.
+     */
+    public void retain(String serviceId, Collection<ServiceInstance> instances) {
+        Map<String, InstanceStats> stats = statsByService.get(serviceId);
+        if (stats == null) {
+            return;
+        }
+        Set<String> keys = new HashSet<>();
+        instances.forEach(instance -> keys.add(keyOf(instance)));
+        stats.keySet().retainAll(keys);
+    }
+
+    long now() {
+        return nanoClock.getAsLong();
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+
+    public final class InstanceStats {
+        private static final long NO_DATA = Double.doubleToRawLongBits(-1.0);
+
+        private final String key;
+        private final AtomicLong ewmaBits = new AtomicLong(NO_DATA);
+        // 요청 객체(identity) -> 시작 시각
+        private final Map<RequestKey, Long> inFlight = new ConcurrentHashMap<>();
+        private volatile long nextPurgeAt;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        private InstanceStats(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return 응답 시간 EWMA (nanos), 아직 기록이 없으면 -1
+         */
+        public double getEwmaNanos() {
+            return Double.longBitsToDouble(ewmaBits.get());
+        }
+
+        public int getInFlight() {
+            if (!inFlight.isEmpty()) {
+                purgeTimedOut();
+            }
+            return inFlight.size();
+        }
+
+        public boolean isEjected() {
+            if (ejected && nanoClock.getAsLong() - ejectedUntil >= 0) {
+                ejected = false;
+            }
+            return ejected;
+        }
+
+        void onStart(Object request) {
+            inFlight.put(new RequestKey(request), nanoClock.getAsLong());
+        }
+
+        /**
+         * 응답 없이 끝난 요청 (DISCARD). 처리 중인 요청 수에서만 뺀다.
+         */
+        void onDiscard(Object request) {
+            inFlight.remove(new RequestKey(request));
+        }
+
+        void onComplete(Object request, long latencyNanos, boolean success) {
+            inFlight.remove(new RequestKey(request));
+            if (latencyNanos >= 0) {
+                recordLatency(latencyNanos);
+            }
+            if (success) {
+                consecutiveFailures.set(0);
+            } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                consecutiveFailures.set(0);
+                ejectedUntil = nanoClock.getAsLong() + ejectNanos;
+                ejected = true;
+                log.warn("instance {} ejected for {} ms after {} consecutive failures", key,
+                        TimeUnit.NANOSECONDS.toMillis(ejectNanos), failureThreshold);
+            }
+        }
+
+        private void purgeTimedOut() {
+            long now = nanoClock.getAsLong();
+            if (now - nextPurgeAt < 0) {
+                return;
+            }
+            // 요청 수 비교는 선택 때마다 일어나므로, 오래된 요청 정리는 timeout 의 1/10 간격으로만 한다.
+            nextPurgeAt = now + inFlightTimeoutNanos / 10;
+            long startedBefore = now - inFlightTimeoutNanos;
+            inFlight.values().removeIf(startedAt -> startedAt - startedBefore <= 0);
+        }
+
+        private void recordLatency(long latencyNanos) {
+            while (true) {
+                long current = ewmaBits.get();
+                double ewma = Double.longBitsToDouble(current);
+                double next = ewma < 0 ? latencyNanos : ewma + ewmaAlpha * (latencyNanos - ewma);
+                if (ewmaBits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Request 의 equals 는 내용 비교이므로, 같은 내용의 요청이 동시에 처리되어도 따로 세도록 identity 로 비교한다.
+     */
+    private static final class RequestKey {
+        private final Object request;
+
+        private RequestKey(Object request) {
+            this.request = request;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RequestKey other && other.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.apigatewayservice.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 모든 lb:// 서비스에 {@link LatencyAwareLoadBalancer} 를 적용한다. (loadbalancer.latency-aware.enabled=false 면 round robin)
+ */
+@Configuration
+@ConditionalOnProperty(name = "loadbalancer.latency-aware.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(Environment env) {
+        return new InstanceStatsRegistry(
+                env.getProperty("loadbalancer.latency-aware.ewma-alpha", Double.class, 0.3),
+                env.getProperty("loadbalancer.latency-aware.failure-threshold", Integer.class, 5),
+                env.getProperty("loadbalancer.latency-aware.eject-millis", Long.class, 30_000L),
+                env.getProperty("loadbalancer.latency-aware.in-flight-timeout-millis", Long.class, 60_000L));
+    }
+
+    @Bean
+    public LatencyRecordingLifecycle latencyRecordingLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new LatencyRecordingLifecycle(instanceStatsRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.apigatewayservice.metrics;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * route 별 구간 시간을 histogram timer 로 기록한다. (/actuator/prometheus 로 노출)
+ * - gateway.route.requests (route, status): gateway 에 들어온 뒤 응답이 끝날 때까지의 전체 시간
+ * - gateway.route.upstream (route): upstream 으로 요청을 보낸 뒤 응답 헤더를 받을 때까지의 시간 (time to first byte)
+ * - gateway.route.jwt (route, result): AuthorizationHeaderFilter 의 JWT 검증 시간
+ * timer 는 route 마다 처음 한 번만 만들고, 이후 기록은 조회 한 번과 bucket 카운터 증가뿐이다.
+ */
+@Component
+public class RouteMetrics {
+
+    private static final String UNKNOWN_ROUTE = "unknown";
+    private static final String[] STATUS_CLASSES = {"unknown", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteTimers> routes = new ConcurrentHashMap<>();
+
+    public RouteMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordRequest(String routeId, int status, long nanos) {
+        int statusClass = status >= 100 && status < 600 ? status / 100 : 0;
+        RouteTimers timers = timers(routeId);
+        Timer timer = timers.requests[statusClass];
+        if (timer == null) {
+            // 동시에 만들어도 registry 가 같은 meter 를 돌려주므로 따로 잠그지 않는다.
+            timer = timers.requests[statusClass] = histogram("gateway.route.requests", timers.routeId,
+                    "status", STATUS_CLASSES[statusClass], Duration.ofMillis(1), Duration.ofSeconds(30));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUpstream(String routeId, long nanos) {
+        timers(routeId).upstream.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwt(String routeId, boolean valid, long nanos) {
+        RouteTimers timers = timers(routeId);
+        (valid ? timers.jwtValid : timers.jwtInvalid).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route == null ? null : route.getId();
+    }
+
+    private RouteTimers timers(String routeId) {
+        String key = routeId == null ? UNKNOWN_ROUTE : routeId;
+        RouteTimers timers = routes.get(key);
+        if (timers != null) {
+            return timers;
+        }
+        return routes.computeIfAbsent(key, RouteTimers::new);
+    }
+
+    private Timer histogram(String name, String routeId, String tagKey, String tagValue, Duration min, Duration max) {
+        Timer.Builder builder = Timer.builder(name)
+                .tag("route", routeId)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(min)
+                .maximumExpectedValue(max);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private final class RouteTimers {
+        private final String routeId;
+        private final Timer[] requests = new Timer[STATUS_CLASSES.length];
+        private final Timer upstream;
+        private final Timer jwtValid;
+        private final Timer jwtInvalid;
+
+        private RouteTimers(String routeId) {
+            this.routeId = routeId;
+            this.upstream = histogram("gateway.route.upstream", routeId, null, null,
+                    Duration.ofMillis(1), Duration.ofSeconds(30));
+            this.jwtValid = histogram("gateway.route.jwt", routeId, "result", "valid",
+                    Duration.ofNanos(1_000), Duration.ofMillis(100));
+            this.jwtInvalid = histogram("gateway.route.jwt", routeId, "result", "invalid",
+                    Duration.ofNanos(1_000), Duration.ofMillis(100));
+        }
+    }
+}
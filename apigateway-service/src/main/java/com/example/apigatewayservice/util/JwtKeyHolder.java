@@ -0,0 +1,137 @@
+package com.example.apigatewayservice.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.endpoint.event.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * jwt.secret 으로부터 검증 키와 JwtParser 를 한 번만 만들어 보관한다.
+ * - 요청 처리 경로에서는 Environment 를 읽지 않고 {@link #current()} 스냅샷만 사용한다.
+ * - RefreshScopeRefreshedEvent(busrefresh) 수신 시 secret 이 바뀌었으면 새 스냅샷으로 원자적으로 교체한다.
+ * - 교체 전 키는 jwt.rotation.overlap-millis 동안 kid 헤더로 지정된 토큰 검증에 계속 사용된다.
+ * - 교체 직후 VerifiedTokenCache 를 비워, 이전 키로 검증된 항목이 그 키의 유효 기간을 넘겨 남지 않게 한다.
+ */
+@Slf4j
+@Component
+public class JwtKeyHolder {
+
+    private final Environment env;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AtomicReference<KeyMaterial> current = new AtomicReference<>();
+
+    public JwtKeyHolder(Environment env, VerifiedTokenCache verifiedTokenCache) {
+        this.env = env;
+        this.verifiedTokenCache = verifiedTokenCache;
+        reload();
+    }
+
+    public KeyMaterial current() {
+        return current.get();
+    }
+
+    @EventListener
+    public void onRefresh(RefreshScopeRefreshedEvent event) {
+        reload();
+    }
+
+    synchronized void reload() {
+        String secret = env.getProperty("jwt.secret");
+        if (secret == null || secret.isEmpty()) {
+            log.warn("jwt.secret is not configured");
+            return;
+        }
+
+        KeyMaterial previous = current.get();
+        String kid = env.getProperty("jwt.kid", keyIdOf(secret));
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        if (previous != null && previous.kid.equals(kid) && previous.key.equals(key)) {
+            return;
+        }
+
+        long overlapMillis = env.getProperty("jwt.rotation.overlap-millis", Long.class, 3_600_000L);
+        current.set(previous == null
+                ? new KeyMaterial(kid, key, null, null, 0L)
+                : new KeyMaterial(kid, key, previous.kid, previous.key, System.currentTimeMillis() + overlapMillis));
+        verifiedTokenCache.clear();
+        log.info("jwt key material loaded: kid={}", kid);
+    }
+
+    /**
+     * secret 의 SHA-256 앞 8바이트로 만든 key id. user-service 의 JwtKeyHolder 와 같은 규칙을 사용한다.
+     */
+    static String keyIdOf(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class KeyMaterial {
+        private final String kid;
+        private final SecretKey key;
+        private final String previousKid;
+        private final SecretKey previousKey;
+        private final long previousValidUntil;
+        private final JwtParser parser;
+
+        private KeyMaterial(String kid, SecretKey key, String previousKid, SecretKey previousKey,
+                            long previousValidUntil) {
+            this.kid = kid;
+            this.key = key;
+            this.previousKid = previousKid;
+            this.previousKey = previousKey;
+            this.previousValidUntil = previousValidUntil;
+            this.parser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            return resolve(header.getKeyId());
+                        }
+                    })
+                    .build();
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public JwtParser getParser() {
+            return parser;
+        }
+
+        /**
+         * @param keyId 토큰 헤더의 kid
+         * @return 그 토큰을 검증하는 키를 쓸 수 있는 마지막 시점 (epoch millis), 현재 키면 null
+         */
+        public Long keyValidUntil(String keyId) {
+            return usesPreviousKey(keyId) ? previousValidUntil : null;
+        }
+
+        private Key resolve(String keyId) {
+            // 알 수 없는 kid 는 현재 키로 검증하여 서명 불일치로 거절되도록 한다.
+            return usesPreviousKey(keyId) ? previousKey : key;
+        }
+
+        private boolean usesPreviousKey(String keyId) {
+            return keyId != null && !keyId.equals(kid) && keyId.equals(previousKid)
+                    && System.currentTimeMillis() < previousValidUntil;
+        }
+    }
+}
@@ -1,40 +1,63 @@
 package com.example.apigatewayservice.util;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
+import com.example.apigatewayservice.util.JwtKeyHolder.KeyMaterial;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import java.util.Date;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtUtil {
-    private final Environment env;
+    private final JwtKeyHolder jwtKeyHolder;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public boolean isValid(String token) {
-        boolean isValid = true;
-        String subject = null;
-        System.out.println("env.getProperty(\"jwt.secret\") = " + env.getProperty("jwt.secret"));
+        return getSubject(token) != null;
+    }
+
+    /**
+     * @return 서명과 만료를 검증한 토큰의 subject, 유효하지 않으면 null
+     */
+    public String getSubject(String token) {
+        // 이미 검증된 토큰은 exp 전까지 서명 검증을 생략한다.
+        String cachedSubject = verifiedTokenCache.getSubject(token);
+        if (cachedSubject != null) {
+            return cachedSubject;
+        }
+
+        KeyMaterial keyMaterial = jwtKeyHolder.current();
+        if (keyMaterial == null) {
+            log.error("jwt key material is not loaded");
+            return null;
+        }
+
+        Jws<Claims> jws;
         try {
-            subject = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(env.getProperty("jwt.secret").getBytes(StandardCharsets.UTF_8)))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
+            jws = keyMaterial.getParser()
+                    .parseSignedClaims(token);
         }catch (Exception e){
-            isValid = false;
+            return null;
         }
+        Claims claims = jws.getPayload();
 
-
+        String subject = claims.getSubject();
         if (Objects.isNull(subject) || subject.isEmpty()) {
-            isValid = false;
+            return null;
         }
 
-        return isValid;
+        // 교체 전 키로 검증된 토큰은 그 키를 쓸 수 있는 시점까지만 캐시한다.
+        String keyId = jws.getHeader().getKeyId();
+        Long expiresAt = keyMaterial.keyValidUntil(keyId);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = expiresAt == null ? expiration.getTime() : Math.min(expiresAt, expiration.getTime());
+        }
+        verifiedTokenCache.put(token, subject, expiresAt);
+        return subject;
     }
 }
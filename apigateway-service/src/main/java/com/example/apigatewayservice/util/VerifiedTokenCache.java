@@ -0,0 +1,119 @@
+package com.example.apigatewayservice.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서명 검증을 이미 통과한 JWT를 token digest(SHA-256) 기준으로 보관하는 캐시
+ * - 캐시 hit 시 토큰의 exp 시점까지 서명 검증을 생략하고, 검증 때 꺼낸 subject 를 그대로 돌려준다.
+ * - 최대 크기를 넘으면 만료된 항목을 정리하고, 그래도 가득 차 있으면 새 항목을 저장하지 않는다.
+ * - 교체 전 키로 검증된 토큰은 그 키의 유효 기간까지만 보관한다.
+ * - 검증 키가 교체되면 JwtKeyHolder 가 전체 항목을 비운다.
+ * - hit/miss 건수와 항목 수를 jwt.cache.hits, jwt.cache.misses, jwt.cache.size 로 노출한다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private final int maxSize;
+    private final long maxTtlMillis;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.max-ttl-millis:3600000}") long maxTtlMillis,
+                              MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlMillis;
+        this.hitCounter = meterRegistry.counter("jwt.cache.hits");
+        this.missCounter = meterRegistry.counter("jwt.cache.misses");
+        Gauge.builder("jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return 검증된 토큰이 아직 만료되지 않았다면 토큰의 subject, 아니면 null
+     */
+    public String getSubject(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return entry.subject;
+    }
+
+    /**
+     * @param expiration 토큰의 exp 와 검증 키의 유효 기간 중 이른 시점 (epoch millis), 둘 다 없으면 null
+     */
+    public void put(String token, String subject, Long expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTtlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration);
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(digest(token), new Entry(subject, expiresAt));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        md.reset();
+        return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class Entry {
+        private final String subject;
+        private final long expiresAt;
+
+        private Entry(String subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
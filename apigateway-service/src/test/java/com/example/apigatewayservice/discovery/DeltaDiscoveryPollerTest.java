@@ -0,0 +1,252 @@
+package com.example.apigatewayservice.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * long-poll 로 받은 등록/해제가 index 에 반영되기까지의 시간을 주기적인 전체 조회(polling)와 비교한다.
+ * polling 주기는 Eureka client 기본값(registry-fetch-interval 30초)을 1/100 로 줄인 300ms 로 흉내 낸다.
+ * 측정 테스트는 perf 태그로 분리되어 -Pperf 로만 실행된다.
+ */
+class DeltaDiscoveryPollerTest {
+
+    private static final String SERVICE_ID = "USER-SERVICE";
+    private static final long POLL_INTERVAL_MILLIS = 300;
+    private static final int EVENTS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<RegistryChange> history = new ArrayList<>();
+    private final List<RegistryChange> registered = new ArrayList<>();
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private String url;
+    private SimpleMeterRegistry meterRegistry;
+    private DiscoveryIndex deltaIndex;
+    private DeltaDiscoveryPoller poller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubExecutor = Executors.newCachedThreadPool();
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/discovery/changes", this::changes);
+        stub.start();
+        url = "http://127.0.0.1:" + stub.getAddress().getPort() + "/discovery/changes";
+
+        meterRegistry = new SimpleMeterRegistry();
+        deltaIndex = new DiscoveryIndex();
+        poller = new DeltaDiscoveryPoller(url, 1_000, 50, 30_000, deltaIndex, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        poller.shutdown();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void appliesResetAndChanges() throws InterruptedException {
+        publish(change("u1", 8081, RegistryChange.Type.REGISTER));
+        poller.start();
+        awaitTrue(() -> ports(deltaIndex).contains(8081));
+
+        publish(change("u2", 8082, RegistryChange.Type.REGISTER));
+        awaitTrue(() -> ports(deltaIndex).contains(8082));
+        publish(change("u1", 0, RegistryChange.Type.CANCEL));
+        awaitTrue(() -> !ports(deltaIndex).contains(8081));
+
+        assertThat(ports(deltaIndex)).containsExactly(8082);
+        assertThat(meterRegistry.counter("discovery.delta.resets").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("discovery.delta.propagation").count()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownServiceFallsBackToEurekaClient() throws InterruptedException {
+        publish(change("u1", 8081, RegistryChange.Type.REGISTER));
+        poller.start();
+        awaitTrue(() -> ports(deltaIndex).contains(8081));
+
+        assertThat(deltaIndex.getInstances("ORDER-SERVICE")).isNull();
+        publish(change("u1", 0, RegistryChange.Type.CANCEL));
+        awaitTrue(() -> deltaIndex.getInstances(SERVICE_ID) == null);
+        assertThat(deltaIndex.isSynced()).isTrue();
+    }
+
+    @Test
+    void derivesChangesUrlFromEurekaServiceUrl() {
+        assertThat(DeltaDiscoveryConfig.changesUrl(new MockEnvironment()
+                .withProperty("eureka.client.service-url.defaultZone", "http://discovery:8761/eureka/, http://peer/eureka")))
+                .isEqualTo("http://discovery:8761/discovery/changes");
+        assertThat(DeltaDiscoveryConfig.changesUrl(new MockEnvironment()
+                .withProperty("eureka.client.service-url.defaultZone", "http://discovery:8761/eureka")
+                .withProperty("discovery.delta.url", "http://other/changes")))
+                .isEqualTo("http://other/changes");
+    }
+
+    @Test
+    @Tag("perf")
+    void registrationsPropagateFasterThanPolling() throws InterruptedException {
+        DiscoveryIndex pollingIndex = new DiscoveryIndex();
+        Thread pollingThread = new Thread(() -> {
+            RestTemplate restTemplate = new RestTemplate();
+            while (!Thread.currentThread().isInterrupted()) {
+                pollingIndex.apply(restTemplate.getForObject(url + "?since=-1", RegistryChanges.class));
+                try {
+                    Thread.sleep(POLL_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        poller.start();
+        pollingThread.start();
+        awaitTrue(() -> deltaIndex.isSynced() && pollingIndex.isSynced());
+
+        long[] delta = new long[EVENTS];
+        long[] polling = new long[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            int port = 9000 + i / 2;
+            boolean register = i % 2 == 0;
+            publish(change("i" + port, port, register ? RegistryChange.Type.REGISTER : RegistryChange.Type.CANCEL));
+            long start = System.nanoTime();
+            while (delta[i] == 0 || polling[i] == 0) {
+                long elapsed = System.nanoTime() - start;
+                if (delta[i] == 0 && ports(deltaIndex).contains(port) == register) {
+                    delta[i] = Math.max(1, elapsed);
+                }
+                if (polling[i] == 0 && ports(pollingIndex).contains(port) == register) {
+                    polling[i] = Math.max(1, elapsed);
+                }
+                assertThat(elapsed).isLessThan(TimeUnit.SECONDS.toNanos(5));
+                Thread.sleep(1);
+            }
+        }
+        pollingThread.interrupt();
+
+        assertThat(millis(delta, 50)).isLessThan(millis(polling, 50));
+    }
+
+    private void changes(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        long since = -1;
+        boolean knownEpoch = false;
+        for (String param : query.split("&")) {
+            if (param.startsWith("since=")) {
+                since = Long.parseLong(param.substring("since=".length()));
+            } else if (param.equals("epoch=stub")) {
+                knownEpoch = true;
+            }
+        }
+
+        RegistryChanges response = new RegistryChanges();
+        response.setEpoch("stub");
+        lock.lock();
+        try {
+            if (!knownEpoch || since < 0) {
+                response.setReset(true);
+                response.setInstances(new ArrayList<>(registered));
+            } else {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                while (history.size() <= since) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    changed.awaitNanos(remaining);
+                }
+                response.setChanges(new ArrayList<>(history.subList((int) Math.min(since, history.size()),
+                        history.size())));
+            }
+            response.setVersion(history.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void publish(RegistryChange change) {
+        lock.lock();
+        try {
+            change.setVersion(history.size() + 1);
+            history.add(change);
+            registered.removeIf(instance -> instance.getInstanceId().equals(change.getInstanceId()));
+            if (change.getType() == RegistryChange.Type.REGISTER) {
+                registered.add(change);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static RegistryChange change(String instanceId, int port, RegistryChange.Type type) {
+        RegistryChange change = new RegistryChange();
+        change.setTimestamp(System.currentTimeMillis());
+        change.setType(type);
+        change.setServiceId(SERVICE_ID);
+        change.setInstanceId(instanceId);
+        change.setHost("127.0.0.1");
+        change.setPort(port);
+        change.setStatus(type == RegistryChange.Type.REGISTER ? "UP" : null);
+        return change;
+    }
+
+    private static List<Integer> ports(DiscoveryIndex index) {
+        List<Integer> ports = new ArrayList<>();
+        List<ServiceInstance> instances = index.getInstances(SERVICE_ID);
+        if (instances != null) {
+            instances.forEach(instance -> ports.add(instance.getPort()));
+        }
+        return ports;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static long millis(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[index]);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.apigatewayservice.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class AccessLogFilterTest {
+
+    private static final int ITERATIONS = 200_000;
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    void writesOneStructuredLinePerRequest() {
+        AccessLogWriter writer = new AccessLogWriter(16, lines::add);
+        GatewayFilter filter = new AccessLogFilter(writer).apply(config(1.0));
+
+        filter.filter(exchange(), respond(HttpStatus.OK, 42)).block();
+        assertThat(lines).isEmpty();
+        assertThat(writer.drain()).isEqualTo(1);
+
+        assertThat(lines).singleElement().asString()
+                .contains("method=GET", "route=user-service", "status=200", "latency_us=", "bytes=42");
+    }
+
+    @Test
+    void samplesSuccessesButAlwaysRecordsServerErrors() {
+        AccessLogWriter writer = new AccessLogWriter(16, lines::add);
+        GatewayFilter filter = new AccessLogFilter(writer).apply(config(0.0));
+
+        filter.filter(exchange(), respond(HttpStatus.OK, 42)).block();
+        filter.filter(exchange(), respond(HttpStatus.BAD_GATEWAY, -1)).block();
+        writer.drain();
+
+        assertThat(lines).singleElement().asString().contains("status=502", "bytes=-");
+    }
+
+    @Test
+    void recordsErrorSignalAsServerError() {
+        AccessLogWriter writer = new AccessLogWriter(16, lines::add);
+        GatewayFilter filter = new AccessLogFilter(writer).apply(config(0.0));
+
+        filter.filter(exchange(), exchange -> Mono.error(new IllegalStateException("upstream failed")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+        writer.drain();
+
+        assertThat(lines).singleElement().asString().contains("status=500");
+    }
+
+    @Test
+    void idleWriterWakesUpOnRecord() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AccessLogWriter writer = new AccessLogWriter(16, written::add);
+        writer.start();
+        try {
+            // writer 가 잠들 때까지 기다린 뒤 기록한다.
+            Thread.sleep(20);
+            writer.record(HttpMethod.GET, "r", 200, 1_000, 1);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(80);
+            while (written.isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(written).hasSize(1);
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void dropsInsteadOfBlockingWhenBufferIsFull() {
+        AccessLogWriter writer = new AccessLogWriter(4, lines::add);
+        for (int i = 0; i < 6; i++) {
+            writer.record(HttpMethod.GET, "r", 200, 1_000, 1);
+        }
+
+        assertThat(writer.getDroppedCount()).isEqualTo(2);
+        assertThat(writer.drain()).isEqualTo(4);
+        assertThat(writer.record(HttpMethod.GET, "r", 200, 1_000, 1)).isTrue();
+    }
+
+    @Test
+    void failedWriteSkipsOnlyThatEvent() {
+        AccessLogWriter writer = new AccessLogWriter(4, line -> {
+            if (line.contains("status=500")) {
+                throw new IllegalStateException("appender failed");
+            }
+            lines.add(line);
+        });
+        writer.record(HttpMethod.GET, "r", 500, 1_000, 1);
+        writer.record(HttpMethod.GET, "r", 200, 1_000, 1);
+
+        assertThatThrownBy(writer::drain).isInstanceOf(IllegalStateException.class);
+        assertThat(writer.drain()).isEqualTo(1);
+        assertThat(writer.pending()).isZero();
+        assertThat(lines).singleElement().asString().contains("status=200");
+    }
+
+    @Test
+    void backgroundWriterDrainsConcurrentProducers() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AccessLogWriter writer = new AccessLogWriter(1024, written::add);
+        writer.start();
+
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!writer.record(HttpMethod.POST, "order-service", 201, 5_000, 10)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        writer.shutdown();
+
+        assertThat(written).hasSize(producers * perProducer)
+                .allMatch(line -> line.endsWith("method=POST route=order-service status=201 latency_us=5 bytes=10"));
+    }
+
+    /**
+     * 요청 스레드에서 record() 한 번에 드는 비용 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void recordCostOnRequestThread() throws Exception {
+        AccessLogWriter writer = new AccessLogWriter(8192, line -> { });
+        writer.start();
+        try {
+            long perRecord = measure(() -> {
+                while (!writer.record(HttpMethod.GET, "user-service", 200, 1_000, 100)) {
+                    Thread.onSpinWait();
+                }
+            });
+            assertThat(perRecord).isLessThan(TimeUnit.MICROSECONDS.toNanos(5));
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private static long measure(Runnable op) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static AccessLogFilter.Config config(double sampleRate) {
+        AccessLogFilter.Config config = new AccessLogFilter.Config();
+        config.setSampleRate(sampleRate);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user-service/users"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id("user-service").uri("lb://USER-SERVICE").predicate(e -> true).build());
+        return exchange;
+    }
+
+    private static GatewayFilterChain respond(HttpStatus status, long contentLength) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            if (contentLength >= 0) {
+                exchange.getResponse().getHeaders().setContentLength(contentLength);
+            }
+            return Mono.empty();
+        };
+    }
+}
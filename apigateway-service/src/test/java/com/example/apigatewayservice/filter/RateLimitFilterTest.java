@@ -0,0 +1,141 @@
+package com.example.apigatewayservice.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class RateLimitFilterTest {
+
+    private static final int ITERATIONS = 200_000;
+    private static final GatewayFilterChain PASS = exchange -> Mono.empty();
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        GatewayFilter filter = filter(1, 3);
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange allowed = fromIp("10.0.0.1");
+            filter.filter(allowed, PASS).block();
+            assertThat(allowed.getResponse().getStatusCode()).isNull();
+        }
+
+        MockServerWebExchange rejected = fromIp("10.0.0.1");
+        filter.filter(rejected, PASS).block();
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        MockServerWebExchange otherClient = fromIp("10.0.0.2");
+        filter.filter(otherClient, PASS).block();
+        assertThat(otherClient.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void keysOnJwtSubjectBeforeClientIp() {
+        GatewayFilter filter = filter(1, 1);
+
+        MockServerWebExchange user1 = fromIp("10.0.0.1");
+        user1.getAttributes().put(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE, "user-1");
+        MockServerWebExchange user2 = fromIp("10.0.0.1");
+        user2.getAttributes().put(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE, "user-2");
+        filter.filter(user1, PASS).block();
+        filter.filter(user2, PASS).block();
+
+        assertThat(user1.getResponse().getStatusCode()).isNull();
+        assertThat(user2.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void refillsAtReplenishRate() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        RateLimitFilter.TokenBucket bucket = new RateLimitFilter.TokenBucket(interval, 2);
+        long now = 1_000_000_000L;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(interval);
+        assertThat(bucket.tryAcquire(now + interval)).isZero();
+        assertThat(bucket.tryAcquire(now + interval)).isGreaterThan(0);
+        // 오래 쉬어도 burstCapacity 이상 쌓이지 않는다.
+        long later = now + TimeUnit.SECONDS.toNanos(10);
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isGreaterThan(0);
+    }
+
+    @Test
+    void rejectsOnlyNewKeysWhenFull() {
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setReplenishRate(10);
+        config.setMaxBuckets(2);
+        config.setBurstCapacity(1);
+        config.setIdleMillis(0);
+        RateLimitFilter.Buckets buckets = new RateLimitFilter.Buckets(config);
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        long now = System.nanoTime();
+
+        assertThat(buckets.tryAcquire("a", now)).isZero();
+        assertThat(buckets.tryAcquire("b", now)).isZero();
+        // 두 bucket 모두 토큰을 쓰는 중이므로 지울 수 없고, 새 key 만 거절된다.
+        assertThat(buckets.tryAcquire("c", now)).isEqualTo(interval);
+        assertThat(buckets.tryAcquire("d", now)).isEqualTo(interval);
+        assertThat(buckets.size()).isEqualTo(2);
+        assertThat(buckets.tryAcquire("a", now + interval)).isZero();
+
+        // 토큰이 다시 채워진 bucket 을 지우고 새 key 를 받는다.
+        long later = now + 10 * interval;
+        assertThat(buckets.tryAcquire("c", later)).isZero();
+        assertThat(buckets.size()).isEqualTo(1);
+
+        buckets.evictIdle(later + interval + 1);
+        assertThat(buckets.size()).isZero();
+    }
+
+    /**
+     * 필터 유무에 따른 요청당 비용 차이 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void perRequestOverhead() {
+        GatewayFilter filter = filter(1_000_000, 1_000_000);
+        MockServerWebExchange exchange = fromIp("10.0.0.1");
+        exchange.getAttributes().put(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE, "user-1");
+
+        long baseline = measure(() -> PASS.filter(exchange).block());
+        long limited = measure(() -> filter.filter(exchange, PASS).block());
+
+        assertThat(limited - baseline).isLessThan(TimeUnit.MICROSECONDS.toNanos(5));
+    }
+
+    private static long measure(Runnable op) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static GatewayFilter filter(int replenishRate, int burstCapacity) {
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        return new RateLimitFilter().apply(config);
+    }
+
+    private static MockServerWebExchange fromIp(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/user-service/users")
+                .remoteAddress(new InetSocketAddress(ip, 40000)));
+    }
+}
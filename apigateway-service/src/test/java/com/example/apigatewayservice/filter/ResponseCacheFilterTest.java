@@ -0,0 +1,154 @@
+package com.example.apigatewayservice.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void servesRepeatedGetFromCache() {
+        GatewayFilter filter = filter(config());
+
+        MockServerWebExchange first = get("/catalog-service/catalogs");
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        MockServerWebExchange second = get("/catalog-service/catalogs");
+        filter.filter(second, upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("body:/catalog-service/catalogs");
+        assertThat(second.getResponse().getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void answersConditionalRequestWithNotModified() {
+        GatewayFilter filter = filter(config());
+        filter.filter(get("/catalog-service/catalogs"), upstream(Duration.ZERO)).block();
+        MockServerWebExchange hit = get("/catalog-service/catalogs");
+        filter.filter(hit, upstream(Duration.ZERO)).block();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/catalog-service/catalogs")
+                .header(HttpHeaders.IF_NONE_MATCH, hit.getResponse().getHeaders().getETag()));
+        filter.filter(conditional, upstream(Duration.ZERO)).block();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void collapsesConcurrentMissesIntoOneUpstreamCall() {
+        GatewayFilter filter = filter(config());
+        List<MockServerWebExchange> exchanges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            exchanges.add(get("/catalog-service/catalogs/CATALOG-001"));
+        }
+
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, upstream(Duration.ofMillis(100))))
+                .blockLast();
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(exchanges).allSatisfy(exchange -> assertThat(exchange.getResponse().getBodyAsString().block())
+                .isEqualTo("body:/catalog-service/catalogs/CATALOG-001"));
+    }
+
+    @Test
+    void variesByAuthorizationSubject() {
+        ResponseCacheFilter.Config config = config();
+        config.setVaryBy(List.of(HttpHeaders.AUTHORIZATION));
+        GatewayFilter filter = filter(config);
+
+        filter.filter(withSubject("user-1"), upstream(Duration.ZERO)).block();
+        filter.filter(withSubject("user-1"), upstream(Duration.ZERO)).block();
+        filter.filter(withSubject("user-2"), upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void passesLargeResponseThroughWithoutCaching() {
+        ResponseCacheFilter.Config config = config();
+        config.setMaxEntryBytes(10);
+        GatewayFilter filter = filter(config);
+
+        MockServerWebExchange first = get("/catalog-service/catalogs");
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        MockServerWebExchange second = get("/catalog-service/catalogs");
+        filter.filter(second, upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("body:/catalog-service/catalogs");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverMaxBytes() {
+        ResponseCacheFilter.Store store = new ResponseCacheFilter.Store(10);
+        store.put("a", entry("12345"));
+        store.put("b", entry("12345"));
+        store.get("a");
+        store.put("c", entry("12345"));
+
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.totalBytes()).isEqualTo(10);
+    }
+
+    private static ResponseCacheFilter.Entry entry(String body) {
+        long now = System.currentTimeMillis();
+        return new ResponseCacheFilter.Entry(
+                new CachedResponse(HttpStatus.OK, new HttpHeaders(), body.getBytes(StandardCharsets.UTF_8)),
+                now, now + 60_000);
+    }
+
+    private static ResponseCacheFilter.Config config() {
+        ResponseCacheFilter.Config config = new ResponseCacheFilter.Config();
+        config.setTtlMillis(60_000);
+        return config;
+    }
+
+    private static GatewayFilter filter(ResponseCacheFilter.Config config) {
+        return new ResponseCacheFilter().apply(config);
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    private static MockServerWebExchange withSubject(String subject) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user-service/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token-of-" + subject));
+        exchange.getAttributes().put(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE, subject);
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return (ServerWebExchange exchange) -> {
+            upstreamCalls.incrementAndGet();
+            byte[] body = ("body:" + exchange.getRequest().getURI().getPath()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.delay(latency).then(exchange.getResponse()
+                    .writeWith(Mono.fromSupplier(() -> exchange.getResponse().bufferFactory().wrap(body))));
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.apigatewayservice.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.example.apigatewayservice.metrics.RouteMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class RouteMetricsFilterTest {
+
+    private static final int ITERATIONS = 200_000;
+
+    private PrometheusMeterRegistry meterRegistry;
+    private RouteMetrics routeMetrics;
+    private RouteMetricsFilter requestFilter;
+    private UpstreamTimingFilter upstreamFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        routeMetrics = new RouteMetrics(meterRegistry);
+        requestFilter = new RouteMetricsFilter(routeMetrics);
+        upstreamFilter = new UpstreamTimingFilter(routeMetrics);
+    }
+
+    @Test
+    void recordsTotalTimePerRouteAndStatusClass() {
+        requestFilter.filter(exchange("user-service"), respond(HttpStatus.OK)).block();
+        requestFilter.filter(exchange("user-service"), respond(HttpStatus.TOO_MANY_REQUESTS)).block();
+        requestFilter.filter(exchange("catalog-service"), respond(HttpStatus.OK)).block();
+
+        assertThat(meterRegistry.get("gateway.route.requests").tags("route", "user-service", "status", "2xx")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.requests").tags("route", "user-service", "status", "4xx")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.requests").tags("route", "catalog-service", "status", "2xx")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.scrape())
+                .contains("gateway_route_requests_seconds_bucket{", "route=\"user-service\"", "status=\"4xx\"");
+    }
+
+    @Test
+    void recordsErrorSignalAsServerError() {
+        requestFilter.filter(exchange("order-service"), exchange -> Mono.error(new IllegalStateException("refused")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        assertThat(meterRegistry.get("gateway.route.requests").tags("route", "order-service", "status", "5xx")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsUpstreamTimeOnlyWhenUpstreamResponds() {
+        upstreamFilter.filter(exchange("order-service"), exchange -> Mono.delay(Duration.ofMillis(20)).then())
+                .block();
+        upstreamFilter.filter(exchange("order-service"), exchange -> Mono.error(new IllegalStateException("refused")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        assertThat(meterRegistry.get("gateway.route.upstream").tag("route", "order-service").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.upstream").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void recordsJwtVerificationResult() {
+        routeMetrics.recordJwt("user-service", true, 2_000);
+        routeMetrics.recordJwt("user-service", false, 3_000);
+
+        assertThat(meterRegistry.get("gateway.route.jwt").tags("route", "user-service", "result", "valid")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.route.jwt").tags("route", "user-service", "result", "invalid")
+                .timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * 필터 두 개(전체 시간, upstream 시간)를 거칠 때 요청당 추가 비용 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void perRequestOverhead() {
+        MockServerWebExchange exchange = exchange("user-service");
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        GatewayFilterChain upstream = e -> Mono.empty();
+        GatewayFilterChain withUpstreamTiming = e -> upstreamFilter.filter(e, upstream);
+
+        long baseline = measure(() -> upstream.filter(exchange).block());
+        long measured = measure(() -> requestFilter.filter(exchange, withUpstreamTiming).block());
+
+        assertThat(measured - baseline).isLessThan(TimeUnit.MICROSECONDS.toNanos(5));
+    }
+
+    private static long measure(Runnable op) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static MockServerWebExchange exchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/" + routeId + "/x"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("lb://" + routeId).predicate(e -> true).build());
+        return exchange;
+    }
+
+    private static GatewayFilterChain respond(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+}
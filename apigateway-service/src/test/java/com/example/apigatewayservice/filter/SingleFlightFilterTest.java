@@ -0,0 +1,105 @@
+package com.example.apigatewayservice.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class SingleFlightFilterTest {
+
+    private static final int CLIENTS = 500;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final GatewayFilter filter = new SingleFlightFilter().apply(new SingleFlightFilter.Config());
+
+    @Test
+    void collapsesConcurrentIdenticalRequests() {
+        List<MockServerWebExchange> exchanges = exchanges("/catalog-service/catalogs/CATALOG-001", null);
+
+        run(exchanges, Duration.ofMillis(200));
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(exchanges).allSatisfy(exchange -> {
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(exchange.getResponse().getBodyAsString().block())
+                    .isEqualTo("body:/catalog-service/catalogs/CATALOG-001");
+        });
+    }
+
+    @Test
+    void doesNotCollapseDifferentSubjects() {
+        List<MockServerWebExchange> exchanges = new ArrayList<>(exchanges("/user-service/users/me", "user-1"));
+        exchanges.addAll(exchanges("/user-service/users/me", "user-2"));
+
+        run(exchanges, Duration.ofMillis(200));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void sequentialRequestsEachGoUpstream() {
+        run(exchanges("/catalog-service/catalogs", null).subList(0, 1), Duration.ZERO);
+        run(exchanges("/catalog-service/catalogs", null).subList(0, 1), Duration.ZERO);
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void followersRetryWhenLeaderFails() {
+        AtomicInteger attempts = new AtomicInteger();
+        GatewayFilterChain failingOnce = exchange -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("upstream down")))
+                : upstream(Duration.ZERO).filter(exchange);
+
+        List<MockServerWebExchange> exchanges = exchanges("/catalog-service/catalogs", null).subList(0, 10);
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, failingOnce).onErrorResume(e -> Mono.empty()))
+                .blockLast(Duration.ofSeconds(10));
+
+        assertThat(exchanges.subList(1, 10)).allSatisfy(exchange ->
+                assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK));
+    }
+
+    private void run(List<MockServerWebExchange> exchanges, Duration latency) {
+        Flux.fromIterable(exchanges)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(exchange -> filter.filter(exchange, upstream(latency)))
+                .sequential()
+                .blockLast(Duration.ofSeconds(10));
+    }
+
+    private static List<MockServerWebExchange> exchanges(String path, String subject) {
+        List<MockServerWebExchange> exchanges = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+            if (subject != null) {
+                exchange.getAttributes().put(AuthorizationHeaderFilter.SUBJECT_ATTRIBUTE, subject);
+            }
+            exchanges.add(exchange);
+        }
+        return exchanges;
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            byte[] body = ("body:" + exchange.getRequest().getURI().getPath()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.delay(latency).then(exchange.getResponse()
+                    .writeWith(Mono.fromSupplier(() -> exchange.getResponse().bufferFactory().wrap(body))));
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.apigatewayservice.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+/**
+ * 응답 시간이 다른 stub 인스턴스(5ms, 5ms, 100ms)에 같은 부하를 주고
+ * round robin 과 {@link LatencyAwareLoadBalancer} 의 p99 응답 시간을 비교한다. (perf 태그, -Pperf 로만 실행)
+ */
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "USER-SERVICE";
+    private static final int CLIENT_THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 150;
+
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private final List<ExecutorService> stubExecutors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.stop(0));
+        stubExecutors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    @Tag("perf")
+    void lowerTailLatencyThanRoundRobin() throws Exception {
+        List<ServiceInstance> instances = List.of(stub("fast-1", 5), stub("fast-2", 5), stub("slow", 100));
+
+        long[] roundRobin = simulate(new RoundRobinLoadBalancer(supplier(instances), SERVICE_ID), null);
+        InstanceStatsRegistry registry = new InstanceStatsRegistry(0.3, 5, 30_000, 60_000);
+        long[] latencyAware = simulate(new LatencyAwareLoadBalancer(supplier(instances), SERVICE_ID, registry),
+                new LatencyRecordingLifecycle(registry));
+
+        assertThat(percentile(latencyAware, 99)).isLessThan(percentile(roundRobin, 99));
+    }
+
+    @Test
+    void ejectsInstanceAfterConsecutiveFailures() {
+        AtomicLong now = new AtomicLong();
+        InstanceStatsRegistry registry = new InstanceStatsRegistry(0.3, 3, 1_000, 60_000, now::get);
+        LatencyRecordingLifecycle lifecycle = new LatencyRecordingLifecycle(registry);
+        ServiceInstance healthy = new DefaultServiceInstance("healthy", SERVICE_ID, "127.0.0.1", 8081, false);
+        ServiceInstance failing = new DefaultServiceInstance("failing", SERVICE_ID, "127.0.0.1", 8082, false);
+        LatencyAwareLoadBalancer loadBalancer =
+                new LatencyAwareLoadBalancer(supplier(List.of(healthy, failing)), SERVICE_ID, registry);
+
+        for (int i = 0; i < 3; i++) {
+            complete(lifecycle, failing, CompletionContext.Status.FAILED);
+        }
+        assertThat(registry.get(failing).isEjected()).isTrue();
+        for (int i = 0; i < 50; i++) {
+            assertThat(loadBalancer.choose(List.of(healthy, failing)).getServer()).isSameAs(healthy);
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertThat(registry.get(failing).isEjected()).isFalse();
+    }
+
+    @Test
+    void usesEjectedInstancesWhenAllAreEjected() {
+        InstanceStatsRegistry registry = new InstanceStatsRegistry(0.3, 1, 30_000, 60_000);
+        LatencyRecordingLifecycle lifecycle = new LatencyRecordingLifecycle(registry);
+        ServiceInstance only = new DefaultServiceInstance("only", SERVICE_ID, "127.0.0.1", 8081, false);
+        complete(lifecycle, only, CompletionContext.Status.FAILED);
+
+        assertThat(new LatencyAwareLoadBalancer(supplier(List.of(only)), SERVICE_ID, registry)
+                .choose(List.of(only)).getServer()).isSameAs(only);
+    }
+
+    @Test
+    void releasesInFlightOnDiscardAndTimeout() {
+        AtomicLong now = new AtomicLong();
+        InstanceStatsRegistry registry = new InstanceStatsRegistry(0.3, 5, 30_000, 1_000, now::get);
+        LatencyRecordingLifecycle lifecycle = new LatencyRecordingLifecycle(registry);
+        ServiceInstance instance = new DefaultServiceInstance("only", SERVICE_ID, "127.0.0.1", 8081, false);
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+
+        Request<Object> discarded = new DefaultRequest<>(new RequestDataContext());
+        lifecycle.onStartRequest(discarded, response);
+        // 내용이 같은 요청도 따로 센다.
+        Request<Object> cancelled = new DefaultRequest<>(new RequestDataContext());
+        lifecycle.onStartRequest(cancelled, response);
+        assertThat(registry.get(instance).getInFlight()).isEqualTo(2);
+
+        lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.DISCARD, discarded, response));
+        assertThat(registry.get(instance).getInFlight()).isEqualTo(1);
+        assertThat(registry.get(instance).getEwmaNanos()).isNegative();
+
+        // 취소되어 완료가 기록되지 않은 요청은 timeout 이 지나면 빠진다.
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertThat(registry.get(instance).getInFlight()).isZero();
+    }
+
+    private long[] simulate(ReactorServiceInstanceLoadBalancer loadBalancer, LatencyRecordingLifecycle lifecycle)
+            throws InterruptedException {
+        long[] latencies = new long[CLIENT_THREADS * REQUESTS_PER_THREAD];
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        CountDownLatch done = new CountDownLatch(CLIENT_THREADS);
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            int offset = t * REQUESTS_PER_THREAD;
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        latencies[offset + i] = call(loadBalancer, lifecycle);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+        return latencies;
+    }
+
+    private long call(ReactorServiceInstanceLoadBalancer loadBalancer, LatencyRecordingLifecycle lifecycle) {
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> response = loadBalancer.choose(request).block();
+        if (lifecycle != null) {
+            lifecycle.onStartRequest(request, response);
+        }
+        long start = System.nanoTime();
+        CompletionContext.Status status = CompletionContext.Status.SUCCESS;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(response.getServer().getUri() + "/health")
+                    .toURL().openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                in.readAllBytes();
+            }
+        } catch (IOException e) {
+            status = CompletionContext.Status.FAILED;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (lifecycle != null) {
+            lifecycle.onComplete(new CompletionContext<>(status, request, response));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private void complete(LatencyRecordingLifecycle lifecycle, ServiceInstance instance,
+                          CompletionContext.Status status) {
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        lifecycle.onStartRequest(request, response);
+        lifecycle.onComplete(new CompletionContext<>(status, request, response));
+    }
+
+    private ServiceInstance stub(String instanceId, long delayMillis) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        stubExecutors.add(executor);
+        stub.setExecutor(executor);
+        stub.createContext("/health", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.start();
+        stubs.add(stub);
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "127.0.0.1", stub.getAddress().getPort(), false);
+    }
+
+    private static ObjectProvider<ServiceInstanceListSupplier> supplier(List<ServiceInstance> instances) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("supplier",
+                ServiceInstanceListSuppliers.from(SERVICE_ID, instances.toArray(new ServiceInstance[0])));
+        return beanFactory.getBeanProvider(ServiceInstanceListSupplier.class);
+    }
+
+    private static long percentile(long[] latencies, int percentile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1];
+    }
+}
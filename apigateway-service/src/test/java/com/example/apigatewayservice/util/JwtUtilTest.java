@@ -0,0 +1,129 @@
+package com.example.apigatewayservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.endpoint.event.RefreshScopeRefreshedEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+    private static final int ITERATIONS = 20_000;
+
+    private MockEnvironment env;
+    private JwtKeyHolder keyHolder;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        env = new MockEnvironment().withProperty("jwt.secret", SECRET);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(100, 3_600_000L, meterRegistry);
+        keyHolder = new JwtKeyHolder(env, cache);
+        jwtUtil = new JwtUtil(keyHolder, cache);
+    }
+
+    @Test
+    void cachesVerifiedTokenUntilKeyRotation() {
+        String token = issue(SECRET, System.currentTimeMillis() + 60_000);
+
+        assertThat(jwtUtil.isValid(token)).isTrue();
+        assertThat(jwtUtil.isValid(token)).isTrue();
+        assertThat(meterRegistry.get("jwt.cache.misses").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.cache.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.cache.size").gauge().value()).isEqualTo(1);
+
+        // 값이 같으면 키를 교체하지 않으므로 캐시도 유지된다.
+        keyHolder.onRefresh(new RefreshScopeRefreshedEvent());
+        assertThat(cache.size()).isEqualTo(1);
+
+        env.setProperty("jwt.secret", "rotated-secret-rotated-secret-rotated-secret");
+        keyHolder.onRefresh(new RefreshScopeRefreshedEvent());
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void doesNotCacheInvalidOrExpiredTokens() {
+        assertThat(jwtUtil.isValid(issue("other-secret-other-secret-other-secret-other", System.currentTimeMillis() + 60_000))).isFalse();
+        assertThat(jwtUtil.isValid(issue(SECRET, System.currentTimeMillis() - 1_000))).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void acceptsPreviousKeyByKidDuringRotationOverlap() {
+        String oldToken = issue(SECRET, JwtKeyHolder.keyIdOf(SECRET), System.currentTimeMillis() + 60_000);
+        String newSecret = "rotated-secret-rotated-secret-rotated-secret";
+
+        env.setProperty("jwt.secret", newSecret);
+        keyHolder.onRefresh(new RefreshScopeRefreshedEvent());
+
+        assertThat(keyHolder.current().getKid()).isEqualTo(JwtKeyHolder.keyIdOf(newSecret));
+        assertThat(jwtUtil.isValid(oldToken)).isTrue();
+        assertThat(jwtUtil.isValid(issue(newSecret, keyHolder.current().getKid(), System.currentTimeMillis() + 60_000))).isTrue();
+    }
+
+    @Test
+    void tokenVerifiedByPreviousKeyExpiresWithOverlap() throws InterruptedException {
+        String oldToken = issue(SECRET, JwtKeyHolder.keyIdOf(SECRET), System.currentTimeMillis() + 60_000);
+        env.setProperty("jwt.rotation.overlap-millis", "50");
+        env.setProperty("jwt.secret", "rotated-secret-rotated-secret-rotated-secret");
+        keyHolder.onRefresh(new RefreshScopeRefreshedEvent());
+
+        assertThat(jwtUtil.isValid(oldToken)).isTrue();
+        Thread.sleep(100);
+
+        assertThat(jwtUtil.isValid(oldToken)).isFalse();
+    }
+
+    /**
+     * 캐시 적용 전/후 요청당 인증 비용 비교 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void perRequestAuthCost() {
+        String token = issue(SECRET, System.currentTimeMillis() + 60_000);
+
+        long uncached = measure(() -> {
+            cache.clear();
+            jwtUtil.isValid(token);
+        });
+        long cached = measure(() -> jwtUtil.isValid(token));
+
+        assertThat(cached).isLessThan(uncached);
+    }
+
+    private static long measure(Runnable op) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static String issue(String secret, long expiration) {
+        return issue(secret, null, expiration);
+    }
+
+    private static String issue(String secret, String kid, long expiration) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("user-1")
+                .issuedAt(new Date())
+                .expiration(new Date(expiration))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
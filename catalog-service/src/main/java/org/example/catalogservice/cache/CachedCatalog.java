@@ -0,0 +1,18 @@
+package org.example.catalogservice.cache;
+
+import java.time.Instant;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 캐시에 보관하는 카탈로그 항목. 여러 요청이 함께 읽으므로 바꿀 수 없게 만들고,
+ * 주문마다 바뀌는 재고(stock)는 담지 않는다. 재고는 응답을 만들 때 StockReservationEngine 에서 읽는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CachedCatalog {
+    private final String productId;
+    private final String productName;
+    private final Integer unitPrice;
+    private final Instant createdAt;
+}
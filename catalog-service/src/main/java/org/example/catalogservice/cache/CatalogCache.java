@@ -0,0 +1,99 @@
+package org.example.catalogservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카탈로그 read-through 캐시
+ * - productId 별 {@link CachedCatalog} 와 전체 목록 스냅샷을 보관한다.
+ * - 재고는 보관하지 않으므로, 재고 차감(write-behind)은 캐시를 무효화하지 않는다.
+ * - 변경이 생기면 {@link #invalidate()} 로 버전을 올리고, 이전 버전으로 만든 항목은 더 이상 사용하지 않는다.
+ * - hit / miss 와 스냅샷 재생성 시간은 actuator metrics (catalog.cache.*) 로 노출한다.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Versioned<CachedCatalog>> catalogs = new ConcurrentHashMap<>();
+    private final AtomicReference<Versioned<CatalogSnapshot>> snapshot = new AtomicReference<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer rebuildTimer;
+
+    public CatalogCache(MeterRegistry meterRegistry) {
+        this.hitCounter = meterRegistry.counter("catalog.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("catalog.cache.requests", "result", "miss");
+        this.rebuildTimer = Timer.builder("catalog.cache.snapshot.rebuild")
+                .description("time to rebuild the catalog list snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.hit.ratio", this, CatalogCache::hitRatio).register(meterRegistry);
+    }
+
+    public CachedCatalog getCatalog(String productId, Function<String, CachedCatalog> loader) {
+        long current = version.get();
+        Versioned<CachedCatalog> cached = catalogs.get(productId);
+        if (cached != null && cached.version == current) {
+            hitCounter.increment();
+            return cached.value;
+        }
+
+        missCounter.increment();
+        CachedCatalog catalog = loader.apply(productId);
+        if (catalog != null) {
+            catalogs.put(productId, new Versioned<>(current, catalog));
+        }
+        return catalog;
+    }
+
+    public CatalogSnapshot getSnapshot(Supplier<CatalogSnapshot> builder) {
+        long current = version.get();
+        Versioned<CatalogSnapshot> cached = snapshot.get();
+        if (cached != null && cached.version == current) {
+            hitCounter.increment();
+            return cached.value;
+        }
+
+        missCounter.increment();
+        CatalogSnapshot rebuilt = rebuildTimer.record(builder);
+        snapshot.set(new Versioned<>(current, rebuilt));
+        return rebuilt;
+    }
+
+    /**
+     * 카탈로그 변경 시 호출한다. 이미 만들어진 항목은 다음 조회 때 다시 읽는다.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        catalogs.clear();
+        snapshot.set(null);
+        log.debug("catalog cache invalidated");
+    }
+
+    public double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static final class Versioned<T> {
+        private final long version;
+        private final T value;
+
+        private Versioned(long version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
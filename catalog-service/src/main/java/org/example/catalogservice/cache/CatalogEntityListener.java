@@ -0,0 +1,36 @@
+package org.example.catalogservice.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.catalogservice.entity.CatalogEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * CatalogEntity 가 JPA 로 저장/수정/삭제되면 카탈로그 캐시를 무효화한다.
+ * 트랜잭션 안이라면 커밋 이후에 한 번 더 무효화하여, 커밋 전에 다시 채워진 값이 남지 않도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final CatalogCache catalogCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(CatalogEntity catalog) {
+        catalogCache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalogCache.invalidate();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.catalogservice.cache;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 전체 카탈로그 목록 중 잘 바뀌지 않는 필드만 모아 둔 것. 재고는 응답을 만들 때 붙인다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogSnapshot {
+    private final List<CachedCatalog> catalogs;
+}
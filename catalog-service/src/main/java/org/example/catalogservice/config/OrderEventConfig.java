@@ -0,0 +1,69 @@
+package org.example.catalogservice.config;
+
+import java.util.Map;
+import org.example.catalogservice.event.OrderCreatedEvent;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * order-service 주문 이벤트 수신 설정
+ * - order.events exchange 의 order.created 를 catalog-service 전용 큐로 받는다.
+ * - 메시지를 order_event.batch-size 개씩 모아 한 번에 처리하고, 배치 단위로 ack 한다.
+ * - broker 가 미리 보내둘 메시지 수는 order_event.prefetch 로 조정한다.
+ */
+@Configuration
+public class OrderEventConfig {
+
+    public static final String ORDER_EVENTS_EXCHANGE = "order.events";
+    public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
+    public static final String ORDER_CREATED_QUEUE = "catalog-service.order-created";
+
+    @Bean
+    public TopicExchange orderEventsExchange() {
+        return new TopicExchange(ORDER_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Queue orderCreatedQueue() {
+        return new Queue(ORDER_CREATED_QUEUE, true);
+    }
+
+    @Bean
+    public Binding orderCreatedBinding(Queue orderCreatedQueue, TopicExchange orderEventsExchange) {
+        return BindingBuilder.bind(orderCreatedQueue).to(orderEventsExchange).with(ORDER_CREATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter orderEventMessageConverter() {
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of("OrderCreated", OrderCreatedEvent.class));
+
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory orderEventContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment env) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(env.getProperty("order_event.batch-size", Integer.class, 50));
+        factory.setPrefetchCount(env.getProperty("order_event.prefetch", Integer.class, 250));
+        return factory;
+    }
+}
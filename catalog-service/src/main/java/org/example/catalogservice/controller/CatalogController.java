@@ -1,19 +1,32 @@
 package org.example.catalogservice.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.cache.CatalogSnapshot;
 import org.example.catalogservice.entity.CatalogEntity;
+import org.example.catalogservice.mapper.CatalogMapper;
 import org.example.catalogservice.service.CatalogService;
+import org.example.catalogservice.stock.StockReservationEngine;
 import org.example.catalogservice.vo.ResponseCatalog;
-import org.modelmapper.ModelMapper;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -21,8 +34,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/catalog-service")
 public class CatalogController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final Environment environment;
     private final CatalogService catalogService;
+    private final CatalogMapper catalogMapper;
+    private final ObjectMapper objectMapper;
+    private final StockReservationEngine stockReservationEngine;
 
     @GetMapping("/health_check")
     public String status() {
@@ -30,14 +48,77 @@ public class CatalogController {
         return String.format("Working in [CATALOG-SERVICE] PORT ON %s", environment.getProperty("local.server.port"));
     }
 
+    /**
+     * size 를 지정하면 afterId 다음부터 size 개만 반환하고, 다음 페이지의 afterId 를 X-Next-After-Id 헤더로 알려준다.
+     * size 가 없으면 캐시된 전체 목록 스냅샷에 현재 가용 재고를 붙여 ETag 와 함께 반환하고, If-None-Match 가 같으면 304 를 반환한다.
+     * ETag 는 재고까지 포함한 본문으로 만들므로 재고가 바뀌면 달라진다.
+     */
     @GetMapping("/catalogs")
-    public ResponseEntity<?> getCatalogs() {
+    public ResponseEntity<?> getCatalogs(@RequestParam(required = false) Long afterId,
+                                         @RequestParam(required = false) Integer size) {
         log.info("CatalogController.getUsers");
-        Iterable<CatalogEntity> catalogs = catalogService.getAllCatalogs();
-        List<ResponseCatalog> responseCatalogs = new ArrayList<>();
-        catalogs.forEach(v -> {
-            responseCatalogs.add(new ModelMapper().map(v, ResponseCatalog.class));
-        });
-        return ResponseEntity.status(HttpStatus.OK).body(responseCatalogs);
+        if (size != null) {
+            List<CatalogEntity> catalogs = catalogService.getCatalogsAfter(afterId == null ? 0L : afterId,
+                    Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            List<ResponseCatalog> responseCatalogs = new ArrayList<>(catalogs.size());
+            catalogs.forEach(v -> responseCatalogs.add(catalogMapper.toResponseCatalog(v)));
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+            if (!catalogs.isEmpty()) {
+                response.header("X-Next-After-Id", String.valueOf(catalogs.get(catalogs.size() - 1).getId()));
+            }
+            return response.body(responseCatalogs);
+        }
+
+        // ResponseEntity 에 ETag 가 있으면 If-None-Match 비교 후 304 응답은 Spring MVC 가 처리한다.
+        CatalogSnapshot snapshot = catalogService.getCatalogSnapshot();
+        List<ResponseCatalog> responseCatalogs = new ArrayList<>(snapshot.getCatalogs().size());
+        snapshot.getCatalogs().forEach(v -> responseCatalogs.add(
+                catalogMapper.toResponseCatalog(v, stockReservationEngine.available(v.getProductId()))));
+        byte[] body = toJson(responseCatalogs);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag("\"" + DigestUtils.md5DigestAsHex(body) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/catalogs/{productId}")
+    public ResponseEntity<?> getCatalog(@PathVariable("productId") String productId) {
+        log.info("CatalogController.getCatalog");
+        CachedCatalog catalog = catalogService.getCatalog(productId);
+        if (catalog == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        // 캐시된 항목에는 재고가 없으므로 현재 가용 재고를 붙여 응답한다.
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(catalogMapper.toResponseCatalog(catalog, stockReservationEngine.available(productId)));
+    }
+
+    /**
+     * Accept: application/x-ndjson 요청 시 전체 카탈로그를 DB 에서 읽는 대로 한 줄씩 내려준다.
+     */
+    @GetMapping(value = "/catalogs", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCatalogs() {
+        log.info("CatalogController.streamCatalogs");
+        StreamingResponseBody body = out ->
+                catalogService.streamAllCatalogs(v -> writeLine(out, catalogMapper.toResponseCatalog(v)));
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
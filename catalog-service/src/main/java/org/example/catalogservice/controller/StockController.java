@@ -0,0 +1,78 @@
+package org.example.catalogservice.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.service.CatalogService;
+import org.example.catalogservice.stock.StockReservationEngine;
+import org.example.catalogservice.vo.RequestReservation;
+import org.example.catalogservice.vo.ResponseReservation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 주문 처리를 위한 재고 예약 API (order-service 에서 호출)
+ * reserve -> (주문 저장) -> commit, 실패 시 release
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/catalog-service/stock")
+public class StockController {
+
+    private final CatalogService catalogService;
+    private final StockReservationEngine stockReservationEngine;
+
+    @PostMapping("/reservations")
+    public ResponseEntity<?> reserve(@RequestBody RequestReservation request) {
+        if (request.getQty() == null || request.getQty() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (catalogService.getCatalog(request.getProductId()) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        String reservationId = stockReservationEngine.reserve(request.getProductId(), request.getQty());
+        if (reservationId == null) {
+            log.info("out of stock: {} x {}", request.getProductId(), request.getQty());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ResponseReservation(reservationId, request.getProductId(), request.getQty()));
+    }
+
+    @PostMapping("/reservations/{reservationId}/commit")
+    public ResponseEntity<?> commit(@PathVariable("reservationId") String reservationId) {
+        return stockReservationEngine.commit(reservationId)
+                ? ResponseEntity.status(HttpStatus.OK).build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<?> release(@PathVariable("reservationId") String reservationId) {
+        return stockReservationEngine.release(reservationId)
+                ? ResponseEntity.status(HttpStatus.NO_CONTENT).build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    /**
+     * 주문 이벤트 처리 중 재고가 부족했던 상품과 수량 (보상 대상)
+     */
+    @GetMapping("/oversold")
+    public Map<String, Integer> oversold() {
+        return stockReservationEngine.oversold();
+    }
+
+    @DeleteMapping("/oversold/{productId}")
+    public ResponseEntity<?> clearOversold(@PathVariable("productId") String productId) {
+        stockReservationEngine.clearOversold(productId);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
@@ -2,6 +2,7 @@ package org.example.catalogservice.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -9,11 +10,13 @@ import jakarta.persistence.Table;
 import java.io.Serializable;
 import java.util.Date;
 import lombok.Data;
+import org.example.catalogservice.cache.CatalogEntityListener;
 import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
 @Table(name = "catalog")
+@EntityListeners(CatalogEntityListener.class)
 public class CatalogEntity implements Serializable {
 
     @Id
@@ -0,0 +1,28 @@
+package org.example.catalogservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 차감까지 끝낸 OrderCreated 이벤트의 orderId
+ * 다시 전달된 이벤트를 걸러내는 데 쓰이며, 인스턴스 재시작이나 다른 인스턴스에서도 그대로 유지된다.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "processed_order")
+public class ProcessedOrderEntity implements Serializable {
+
+    @Id
+    private String orderId;
+    private Long processedAt;
+
+    public ProcessedOrderEntity(String orderId, Long processedAt) {
+        this.orderId = orderId;
+        this.processedAt = processedAt;
+    }
+}
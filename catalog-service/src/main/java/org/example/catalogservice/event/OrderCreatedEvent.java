@@ -0,0 +1,19 @@
+package org.example.catalogservice.event;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 주문 생성 이벤트 (order-service -> catalog-service)
+ * stockReserved 가 true 면 주문 시점에 이미 재고 예약/확정이 끝난 주문이다.
+ */
+@Data
+public class OrderCreatedEvent implements Serializable {
+    private String orderId;
+    private String userId;
+    private String productId;
+    private Integer qty;
+    private Integer unitPrice;
+    private Integer totalPrice;
+    private boolean stockReserved;
+}
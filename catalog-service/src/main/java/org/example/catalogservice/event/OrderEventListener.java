@@ -0,0 +1,68 @@
+package org.example.catalogservice.event;
+
+import static org.example.catalogservice.config.OrderEventConfig.ORDER_CREATED_QUEUE;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.entity.ProcessedOrderEntity;
+import org.example.catalogservice.repository.ProcessedOrderRepository;
+import org.example.catalogservice.stock.StockReservationEngine;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 생성 이벤트를 배치로 받아 재고를 차감한다.
+ * 같은 상품의 주문은 수량을 합쳐 한 번만 차감하고, 주문 시점에 이미 예약된 주문(stockReserved)은 건너뛴다.
+ * outbox relay 는 같은 이벤트를 다시 보낼 수 있으므로, 차감이 끝난 orderId 를 processed_order 테이블에 같은 트랜잭션으로 기록하고
+ * 이미 기록된 orderId 는 다시 반영하지 않는다. 재고 차감도 같은 트랜잭션에서 catalog 테이블에 쓰고 메모리에는 커밋 후에 반영하므로,
+ * 도중에 실패해 롤백된 배치는 차감도 기록도 남지 않고 재전달되면 다시 처리된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventListener {
+
+    private final StockReservationEngine stockReservationEngine;
+    private final ProcessedOrderRepository processedOrderRepository;
+
+    @Transactional
+    @RabbitListener(queues = ORDER_CREATED_QUEUE, containerFactory = "orderEventContainerFactory")
+    public void onOrderCreated(List<OrderCreatedEvent> events) {
+        Map<String, OrderCreatedEvent> pending = new LinkedHashMap<>();
+        events.stream()
+                .filter(event -> !event.isStockReserved())
+                .forEach(event -> pending.putIfAbsent(event.getOrderId(), event));
+        processedOrderRepository.findAllById(pending.keySet())
+                .forEach(processed -> pending.remove(processed.getOrderId()));
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> qtyByProductId = new LinkedHashMap<>();
+        pending.values().forEach(event -> qtyByProductId.merge(event.getProductId(), event.getQty(), Integer::sum));
+
+        // 상품 재고를 먼저 모두 읽어 두어, 일부 상품만 차감된 채로 배치가 실패하지 않게 한다.
+        qtyByProductId.keySet().removeIf(productId -> {
+            try {
+                stockReservationEngine.available(productId);
+                return false;
+            } catch (IllegalArgumentException e) {
+                // 없는 상품은 재시도해도 처리할 수 없으므로 배치 전체를 되돌리지 않는다.
+                log.error("OrderCreated for unknown product skipped: {}", productId);
+                return true;
+            }
+        });
+        stockReservationEngine.deduct(qtyByProductId);
+
+        long now = System.currentTimeMillis();
+        List<ProcessedOrderEntity> processed = new ArrayList<>(pending.size());
+        pending.keySet().forEach(orderId -> processed.add(new ProcessedOrderEntity(orderId, now)));
+        processedOrderRepository.saveAll(processed);
+        log.debug("OrderCreated batch: {} events, {} products", events.size(), qtyByProductId.size());
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.catalogservice.mapper;
+
+import java.util.Date;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.entity.CatalogEntity;
+import org.example.catalogservice.vo.ResponseCatalog;
+import org.springframework.stereotype.Component;
+
+/**
+ * CatalogEntity / CachedCatalog -> ResponseCatalog 변환
+ * 요소마다 ModelMapper 를 만들어 reflection 으로 타입을 분석하던 방식을 대신해 필드를 직접 복사한다.
+ */
+@Component
+public class CatalogMapper {
+
+    public ResponseCatalog toResponseCatalog(CatalogEntity catalogEntity) {
+        if (catalogEntity == null) {
+            return null;
+        }
+        ResponseCatalog responseCatalog = new ResponseCatalog();
+        responseCatalog.setProductId(catalogEntity.getProductId());
+        responseCatalog.setProductName(catalogEntity.getProductName());
+        responseCatalog.setUnitPrice(catalogEntity.getUnitPrice());
+        responseCatalog.setStock(catalogEntity.getStock());
+        responseCatalog.setCreatedAt(catalogEntity.getCreatedAt());
+        return responseCatalog;
+    }
+
+    public CachedCatalog toCachedCatalog(CatalogEntity catalogEntity) {
+        if (catalogEntity == null) {
+            return null;
+        }
+        return new CachedCatalog(catalogEntity.getProductId(), catalogEntity.getProductName(),
+                catalogEntity.getUnitPrice(),
+                catalogEntity.getCreatedAt() == null ? null : catalogEntity.getCreatedAt().toInstant());
+    }
+
+    /**
+     * @param stock null 이면 응답에서 빠진다.
+     */
+    public ResponseCatalog toResponseCatalog(CachedCatalog cachedCatalog, Integer stock) {
+        if (cachedCatalog == null) {
+            return null;
+        }
+        ResponseCatalog responseCatalog = new ResponseCatalog();
+        responseCatalog.setProductId(cachedCatalog.getProductId());
+        responseCatalog.setProductName(cachedCatalog.getProductName());
+        responseCatalog.setUnitPrice(cachedCatalog.getUnitPrice());
+        responseCatalog.setStock(stock);
+        if (cachedCatalog.getCreatedAt() != null) {
+            responseCatalog.setCreatedAt(Date.from(cachedCatalog.getCreatedAt()));
+        }
+        return responseCatalog;
+    }
+}
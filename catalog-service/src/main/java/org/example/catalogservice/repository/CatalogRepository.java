@@ -1,10 +1,22 @@
 package org.example.catalogservice.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 import org.example.catalogservice.entity.CatalogEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CatalogRepository extends CrudRepository<CatalogEntity, Long> {
     CatalogEntity findByProductId(String productId);
+
+    List<CatalogEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<CatalogEntity> streamAllByOrderByIdAsc();
 }
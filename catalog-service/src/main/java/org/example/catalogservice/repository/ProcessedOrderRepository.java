@@ -0,0 +1,9 @@
+package org.example.catalogservice.repository;
+
+import org.example.catalogservice.entity.ProcessedOrderEntity;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedOrderRepository extends CrudRepository<ProcessedOrderEntity, String> {
+}
@@ -1,7 +1,19 @@
 package org.example.catalogservice.service;
 
+import java.util.List;
+import java.util.function.Consumer;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.cache.CatalogSnapshot;
 import org.example.catalogservice.entity.CatalogEntity;
 
 public interface CatalogService {
     Iterable<CatalogEntity> getAllCatalogs();
+
+    CachedCatalog getCatalog(String productId);
+
+    CatalogSnapshot getCatalogSnapshot();
+
+    List<CatalogEntity> getCatalogsAfter(Long afterId, int size);
+
+    void streamAllCatalogs(Consumer<CatalogEntity> consumer);
 }
@@ -1,11 +1,23 @@
 package org.example.catalogservice.service;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.cache.CatalogCache;
+import org.example.catalogservice.cache.CatalogSnapshot;
 import org.example.catalogservice.entity.CatalogEntity;
+import org.example.catalogservice.mapper.CatalogMapper;
 import org.example.catalogservice.repository.CatalogRepository;
+import org.example.catalogservice.stock.StockReservationEngine;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Data
 @Slf4j
@@ -14,9 +26,60 @@ import org.springframework.stereotype.Service;
 public class CatalogServiceImpl implements CatalogService{
 
     private final CatalogRepository catalogRepository;
+    private final EntityManager entityManager;
+    private final CatalogCache catalogCache;
+    private final CatalogMapper catalogMapper;
+    private final StockReservationEngine stockReservationEngine;
 
     @Override
     public Iterable<CatalogEntity> getAllCatalogs() {
         return catalogRepository.findAll();
     }
+
+    @Override
+    public CachedCatalog getCatalog(String productId) {
+        return catalogCache.getCatalog(productId,
+                id -> catalogMapper.toCachedCatalog(catalogRepository.findByProductId(id)));
+    }
+
+    /**
+     * 전체 목록 스냅샷. 카탈로그가 바뀌기 전까지는 다시 조회하지 않는다.
+     * 재고는 주문마다 바뀌므로 스냅샷에 넣지 않고, 스냅샷을 만들 때 읽은 재고로 StockReservationEngine 의 카운터만 채워 둔다.
+     */
+    @Override
+    public CatalogSnapshot getCatalogSnapshot() {
+        return catalogCache.getSnapshot(this::buildSnapshot);
+    }
+
+    /**
+     * id 기준 keyset 페이지 조회: afterId 보다 큰 id 를 size 개까지 반환한다.
+     */
+    @Override
+    public List<CatalogEntity> getCatalogsAfter(Long afterId, int size) {
+        return catalogRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * 전체 카탈로그를 한 건씩 읽어 consumer 로 넘긴다.
+     * 넘긴 엔티티는 바로 영속성 컨텍스트에서 분리하므로 테이블 크기와 관계없이 heap 사용량이 일정하다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCatalogs(Consumer<CatalogEntity> consumer) {
+        try (Stream<CatalogEntity> catalogs = catalogRepository.streamAllByOrderByIdAsc()) {
+            catalogs.forEach(catalog -> {
+                consumer.accept(catalog);
+                entityManager.detach(catalog);
+            });
+        }
+    }
+
+    private CatalogSnapshot buildSnapshot() {
+        List<CachedCatalog> catalogs = new ArrayList<>();
+        catalogRepository.findAll().forEach(v -> {
+            stockReservationEngine.preload(v.getProductId(), v.getStock());
+            catalogs.add(catalogMapper.toCachedCatalog(v));
+        });
+        return new CatalogSnapshot(List.copyOf(catalogs));
+    }
 }
@@ -0,0 +1,268 @@
+package org.example.catalogservice.stock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.example.catalogservice.entity.CatalogEntity;
+import org.example.catalogservice.repository.CatalogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * productId 별 재고를 메모리의 원자적 카운터로 관리하는 예약 엔진
+ * - reserve: 가용 재고(available)를 CAS 로 차감한다. 재고가 부족하면 null 을 반환하므로 초과 판매가 일어나지 않는다.
+ * - commit: 예약을 확정하고 확정 재고(committed)를 차감한다. 같은 예약을 다시 확정해도 한 번만 반영된다. (재시도용)
+ * - release: 예약을 취소하고 재고를 되돌린다. 확정된 지 stock.reservation.ttl-millis 가 지나지 않은 예약도 취소할 수 있다. (보상용)
+ *   stock.reservation.ttl-millis 안에 확정되지 않은 예약은 자동으로 취소된다.
+ * - 확정 재고의 변화량은 상품별로 모아 write-behind 로 catalog 테이블에 stock = stock + delta 로 반영한다.
+ *   주문 이벤트의 차감(deduct)만은 처리 기록과 함께 커밋되어야 하므로 호출한 트랜잭션에서 바로 반영한다.
+ *   절대값을 쓰지 않으므로 여러 인스턴스가 같은 상품을 차감해도 서로의 차감을 덮어쓰지 않는다.
+ * DB 의 행 잠금 없이 처리하므로, 한 상품에 요청이 몰려도 row-lock 경합이 생기지 않는다.
+ * 가용 재고 카운터는 인스턴스마다 따로 가지므로, 초과 판매 방지는 한 상품의 예약이 한 인스턴스로 모일 때만 보장된다.
+ */
+@Slf4j
+@Component
+public class StockReservationEngine {
+
+    private final CatalogRepository catalogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long reservationTtlMillis;
+
+    private final Map<String, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    // 확정된 예약: 재시도된 commit 에 true 를 돌려주고, 주문 저장 실패 시 release 로 되돌릴 수 있도록 TTL 동안 보관한다.
+    private final Map<String, Reservation> committedReservations = new ConcurrentHashMap<>();
+    private final Set<String> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> oversold = new ConcurrentHashMap<>();
+    private final Counter oversoldCounter;
+
+    public StockReservationEngine(CatalogRepository catalogRepository, JdbcTemplate jdbcTemplate,
+                                  @Value("${stock.reservation.ttl-millis:60000}") long reservationTtlMillis,
+                                  MeterRegistry meterRegistry) {
+        this.catalogRepository = catalogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTtlMillis = reservationTtlMillis;
+        this.oversoldCounter = meterRegistry.counter("stock.oversold");
+        Gauge.builder("stock.oversold.products", oversold, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return 예약 id, 재고가 부족하면 null
+     * @throws IllegalArgumentException 존재하지 않는 상품
+     */
+    public String reserve(String productId, int qty) {
+        if (qty <= 0) {
+            throw new IllegalArgumentException("qty must be positive: " + qty);
+        }
+        ProductStock stock = stocks.computeIfAbsent(productId, this::load);
+
+        int current;
+        do {
+            current = stock.available.get();
+            if (current < qty) {
+                return null;
+            }
+        } while (!stock.available.compareAndSet(current, current - qty));
+
+        String reservationId = UUID.randomUUID().toString();
+        reservations.put(reservationId, new Reservation(productId, qty, System.currentTimeMillis()));
+        return reservationId;
+    }
+
+    /**
+     * @return 확정할 예약이 없으면(취소/만료) false. 이미 확정된 예약이면 다시 반영하지 않고 true
+     */
+    public boolean commit(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return committedReservations.containsKey(reservationId);
+        }
+        addCommitted(stocks.get(reservation.productId), reservation.productId, -reservation.qty);
+        committedReservations.put(reservationId,
+                new Reservation(reservation.productId, reservation.qty, System.currentTimeMillis()));
+        return true;
+    }
+
+    /**
+     * 확정 전 예약은 가용 재고를, 확정된 예약은 가용 재고와 확정 재고를 모두 되돌린다.
+     *
+     * @return 취소할 예약이 없으면(이미 취소/만료) false
+     */
+    public boolean release(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation != null) {
+            stocks.get(reservation.productId).available.addAndGet(reservation.qty);
+            return true;
+        }
+        reservation = committedReservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        ProductStock stock = stocks.get(reservation.productId);
+        stock.available.addAndGet(reservation.qty);
+        addCommitted(stock, reservation.productId, reservation.qty);
+        log.info("committed stock reservation released: {} ({} x {})", reservationId, reservation.productId,
+                reservation.qty);
+        return true;
+    }
+
+    /**
+     * 예약 없이 바로 확정 차감한다. (주문 이벤트 처리용, productId -> 수량)
+     * write-behind 를 거치지 않고 호출한 트랜잭션 안에서 catalog 테이블을 stock = stock - qty 로 바로 갱신하고,
+     * 메모리의 가용 재고는 커밋된 뒤에 차감한다. 트랜잭션이 롤백되면 DB 와 메모리 모두 차감되지 않으므로
+     * 같은 배치가 다시 전달되어도 두 번 차감되지 않는다. 트랜잭션 밖에서 호출하면 바로 반영한다.
+     * 이미 주문이 저장된 뒤이므로 재고가 부족해도 차감한다. 부족한 수량은 상품별로 기록하고(GET /stock/oversold)
+     * stock.oversold 메트릭과 error 로그로 알려, 입고나 주문 취소로 보상할 수 있게 한다.
+     *
+     * @throws IllegalArgumentException 존재하지 않는 상품이 있으면 아무것도 차감하지 않는다.
+     */
+    public void deduct(Map<String, Integer> qtyByProductId) {
+        // DB 를 갱신하기 전에 카운터를 만들어 두어야, 갱신된 재고를 읽어 커밋 후에 한 번 더 차감하는 일이 없다.
+        qtyByProductId.keySet().forEach(productId -> stocks.computeIfAbsent(productId, this::load));
+
+        List<Object[]> updates = new ArrayList<>(qtyByProductId.size());
+        qtyByProductId.forEach((productId, qty) -> updates.add(new Object[]{qty, productId}));
+        jdbcTemplate.batchUpdate("UPDATE catalog SET stock = stock - ? WHERE product_id = ?", updates);
+
+        Map<String, Integer> deducted = Map.copyOf(qtyByProductId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deducted.forEach(StockReservationEngine.this::deductAvailable);
+                }
+            });
+        } else {
+            deducted.forEach(this::deductAvailable);
+        }
+    }
+
+    /**
+     * 주문 이벤트 처리 중 재고가 부족했던 수량 (productId -> 수량). 보상이 끝난 상품은 {@link #clearOversold} 로 지운다.
+     */
+    public Map<String, Integer> oversold() {
+        return Map.copyOf(oversold);
+    }
+
+    public void clearOversold(String productId) {
+        oversold.remove(productId);
+    }
+
+    /**
+     * 아직 메모리에 없는 상품의 카운터를 이미 읽어 둔 재고로 만든다. 이미 있는 상품은 그대로 둔다. (카탈로그 목록 조회용)
+     */
+    public void preload(String productId, int stock) {
+        stocks.computeIfAbsent(productId, id -> new ProductStock(stock));
+    }
+
+    /**
+     * 현재 가용 재고 (확정 재고 - 진행중인 예약)
+     */
+    public int available(String productId) {
+        return stocks.computeIfAbsent(productId, this::load).available.get();
+    }
+
+    /**
+     * 확정 재고가 바뀐 상품의 변화량을 한 번의 JDBC batch update 로 catalog 테이블에 반영한다.
+     * batch 가 실패하면 변화량과 표시를 되돌려 다음 flush 에서 다시 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${stock.write-behind.interval-millis:200}")
+    public void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (String productId : dirtyProductIds) {
+            // 값을 가져가기 전에 표시를 지워야, 그 사이에 들어온 변화가 다음 flush 에 반영된다.
+            dirtyProductIds.remove(productId);
+            int delta = stocks.get(productId).unflushed.getAndSet(0);
+            if (delta != 0) {
+                updates.add(new Object[]{delta, productId});
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate("UPDATE catalog SET stock = stock + ? WHERE product_id = ?", updates);
+        } catch (DataAccessException e) {
+            for (Object[] update : updates) {
+                String productId = (String) update[1];
+                stocks.get(productId).unflushed.addAndGet((Integer) update[0]);
+                dirtyProductIds.add(productId);
+            }
+            log.warn("stock write-behind failed, will retry: {} products", updates.size(), e);
+            return;
+        }
+        // 카탈로그 캐시에는 재고가 없으므로 무효화하지 않는다.
+        log.debug("stock write-behind: {} products", updates.size());
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.expire-interval-millis:1000}")
+    public void expireReservations() {
+        long expiredBefore = System.currentTimeMillis() - reservationTtlMillis;
+        reservations.forEach((reservationId, reservation) -> {
+            if (reservation.createdAt < expiredBefore && reservations.remove(reservationId, reservation)) {
+                stocks.get(reservation.productId).available.addAndGet(reservation.qty);
+                log.info("stock reservation expired: {} ({} x {})", reservationId, reservation.productId, reservation.qty);
+            }
+        });
+        committedReservations.values().removeIf(reservation -> reservation.createdAt < expiredBefore);
+    }
+
+    private void deductAvailable(String productId, int qty) {
+        int available = stocks.get(productId).available.addAndGet(-qty);
+        if (available < 0) {
+            int shortage = Math.min(qty, -available);
+            oversold.merge(productId, shortage, Integer::sum);
+            oversoldCounter.increment(shortage);
+            log.error("stock oversold: {} x {} (available {})", productId, shortage, available);
+        }
+    }
+
+    private void addCommitted(ProductStock stock, String productId, int delta) {
+        stock.unflushed.addAndGet(delta);
+        dirtyProductIds.add(productId);
+    }
+
+    private ProductStock load(String productId) {
+        CatalogEntity catalog = catalogRepository.findByProductId(productId);
+        if (catalog == null) {
+            throw new IllegalArgumentException("unknown product: " + productId);
+        }
+        return new ProductStock(catalog.getStock());
+    }
+
+    private static final class ProductStock {
+        private final AtomicInteger available;
+        // 아직 catalog 테이블에 반영하지 않은 확정 재고 변화량
+        private final AtomicInteger unflushed = new AtomicInteger();
+
+        private ProductStock(int stock) {
+            this.available = new AtomicInteger(stock);
+        }
+    }
+
+    private static final class Reservation {
+        private final String productId;
+        private final int qty;
+        private final long createdAt;
+
+        private Reservation(String productId, int qty, long createdAt) {
+            this.productId = productId;
+            this.qty = qty;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.catalogservice.vo;
+
+import lombok.Data;
+
+@Data
+public class RequestReservation {
+    private String productId;
+    private Integer qty;
+}
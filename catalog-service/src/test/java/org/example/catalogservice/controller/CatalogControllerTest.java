@@ -0,0 +1,92 @@
+package org.example.catalogservice.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import org.example.catalogservice.cache.CatalogCache;
+import org.example.catalogservice.stock.StockReservationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@AutoConfigureMockMvc
+class CatalogControllerTest {
+
+    private static final int STOCK = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private StockReservationEngine engine;
+
+    private String productId;
+    private long id;
+
+    @BeforeEach
+    void insertProduct() {
+        productId = "LIST-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO catalog(product_id, product_name, stock, unit_price) VALUES (?, ?, ?, ?)",
+                productId, "LIST-PRODUCT", STOCK, 1000);
+        id = jdbcTemplate.queryForObject("SELECT id FROM catalog WHERE product_id = ?", Long.class, productId);
+        // JDBC 로 넣었으므로 JPA entity listener 가 호출되지 않는다.
+        catalogCache.invalidate();
+    }
+
+    @Test
+    void everyListModeReturnsStock() throws Exception {
+        String product = "$[?(@.productId == '" + productId + "')]";
+        mockMvc.perform(get("/catalog-service/catalogs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(product + ".stock").value(STOCK));
+        mockMvc.perform(get("/catalog-service/catalogs").param("afterId", String.valueOf(id - 1)).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(product + ".stock").value(STOCK));
+
+        MvcResult stream = mockMvc.perform(get("/catalog-service/catalogs").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(stream))
+                .andExpect(content().string(containsString("\"productId\":\"" + productId + "\"")))
+                .andExpect(content().string(containsString("\"stock\":")));
+    }
+
+    @Test
+    void listEtagChangesWithStock() throws Exception {
+        String etag = mockMvc.perform(get("/catalog-service/catalogs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/catalog-service/catalogs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        engine.reserve(productId, 5);
+
+        mockMvc.perform(get("/catalog-service/catalogs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.productId == '" + productId + "')].stock").value(STOCK - 5));
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.catalogservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.example.catalogservice.repository.ProcessedOrderRepository;
+import org.example.catalogservice.stock.StockReservationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * broker 대신 order-service 가 보내는 것과 같은 형식의 메시지를 직접 만들어 배치로 전달한다.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+class OrderEventListenerTest {
+
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderEventListener listener;
+
+    @Autowired
+    private MessageConverter orderEventMessageConverter;
+
+    @Autowired
+    private StockReservationEngine engine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ProcessedOrderRepository processedOrderRepository;
+
+    private String productId;
+
+    @BeforeEach
+    void insertProduct() {
+        productId = "EVENT-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO catalog(product_id, product_name, stock, unit_price) VALUES (?, ?, ?, ?)",
+                productId, "EVENT-PRODUCT", STOCK, 1000);
+    }
+
+    @Test
+    void deductsStockForBatchAndSkipsReservedOrders() {
+        List<OrderCreatedEvent> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(receive(productId, 2, false));
+        }
+        batch.add(receive(productId, 5, true));
+
+        listener.onOrderCreated(batch);
+
+        // write-behind 를 기다리지 않고 커밋과 함께 DB 에 반영된다.
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 20);
+        assertThat(dbStock()).isEqualTo(STOCK - 20);
+    }
+
+    @Test
+    void rolledBackBatchIsDeductedOnceOnRedelivery() {
+        OrderCreatedEvent event = receive(productId, 4, false);
+        doThrow(new DataIntegrityViolationException("constraint violated"))
+                .when(processedOrderRepository).saveAll(anyIterable());
+
+        assertThatThrownBy(() -> listener.onOrderCreated(List.of(event)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(engine.available(productId)).isEqualTo(STOCK);
+        assertThat(dbStock()).isEqualTo(STOCK);
+
+        // broker 가 같은 배치를 다시 전달한다.
+        reset(processedOrderRepository);
+        listener.onOrderCreated(List.of(event));
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 4);
+        assertThat(dbStock()).isEqualTo(STOCK - 4);
+    }
+
+    @Test
+    void redeliveredEventIsAppliedOnce() {
+        OrderCreatedEvent event = receive(productId, 4, false);
+
+        listener.onOrderCreated(List.of(event));
+        listener.onOrderCreated(List.of(event, event));
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_order WHERE order_id = ?",
+                Integer.class, event.getOrderId())).isEqualTo(1);
+    }
+
+    @Test
+    void orderRecordedByAnotherInstanceIsSkipped() {
+        OrderCreatedEvent event = receive(productId, 4, false);
+        jdbcTemplate.update("INSERT INTO processed_order(order_id, processed_at) VALUES (?, ?)",
+                event.getOrderId(), System.currentTimeMillis());
+
+        listener.onOrderCreated(List.of(event, receive(productId, 1, false)));
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 1);
+    }
+
+    @Test
+    void unknownProductDoesNotFailTheBatch() {
+        listener.onOrderCreated(List.of(receive("UNKNOWN-" + UUID.randomUUID(), 1, false),
+                receive(productId, 3, false)));
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 3);
+    }
+
+    @Test
+    void recordsOversoldQuantity() {
+        listener.onOrderCreated(List.of(receive(productId, STOCK + 7, false)));
+
+        assertThat(engine.available(productId)).isEqualTo(-7);
+        assertThat(engine.oversold()).containsEntry(productId, 7);
+        engine.clearOversold(productId);
+        assertThat(engine.oversold()).doesNotContainKey(productId);
+    }
+
+    private Integer dbStock() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM catalog WHERE product_id = ?", Integer.class, productId);
+    }
+
+    private OrderCreatedEvent receive(String productId, int qty, boolean stockReserved) {
+        String json = String.format("{\"orderId\":\"%s\",\"userId\":\"user-1\",\"productId\":\"%s\",\"qty\":%d,"
+                        + "\"unitPrice\":1000,\"totalPrice\":%d,\"stockReserved\":%s}",
+                UUID.randomUUID(), productId, qty, qty * 1000, stockReserved);
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", "OrderCreated");
+        return (OrderCreatedEvent) orderEventMessageConverter.fromMessage(
+                new Message(json.getBytes(StandardCharsets.UTF_8), properties));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.catalogservice.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.entity.CatalogEntity;
+import org.example.catalogservice.vo.ResponseCatalog;
+import org.junit.jupiter.api.Test;
+
+class CatalogMapperTest {
+
+    private final CatalogMapper catalogMapper = new CatalogMapper();
+
+    @Test
+    void copiesAllFieldsFromEntity() {
+        CatalogEntity catalogEntity = catalog();
+
+        ResponseCatalog responseCatalog = catalogMapper.toResponseCatalog(catalogEntity);
+
+        assertThat(responseCatalog.getProductId()).isEqualTo("CATALOG-001");
+        assertThat(responseCatalog.getProductName()).isEqualTo("Berlin");
+        assertThat(responseCatalog.getUnitPrice()).isEqualTo(1500);
+        assertThat(responseCatalog.getStock()).isEqualTo(100);
+        assertThat(responseCatalog.getCreatedAt()).isEqualTo(catalogEntity.getCreatedAt());
+    }
+
+    @Test
+    void cachedCatalogTakesStockSeparately() {
+        CatalogEntity catalogEntity = catalog();
+        CachedCatalog cachedCatalog = catalogMapper.toCachedCatalog(catalogEntity);
+
+        ResponseCatalog withStock = catalogMapper.toResponseCatalog(cachedCatalog, 7);
+        ResponseCatalog withoutStock = catalogMapper.toResponseCatalog(cachedCatalog, null);
+
+        assertThat(withStock.getStock()).isEqualTo(7);
+        assertThat(withoutStock.getStock()).isNull();
+        assertThat(withoutStock.getProductId()).isEqualTo("CATALOG-001");
+        assertThat(withoutStock.getUnitPrice()).isEqualTo(1500);
+        assertThat(withoutStock.getCreatedAt()).isEqualTo(catalogEntity.getCreatedAt());
+        // 응답 객체를 바꿔도 캐시된 값에는 영향이 없다.
+        withoutStock.getCreatedAt().setTime(0);
+        assertThat(catalogMapper.toResponseCatalog(cachedCatalog, null).getCreatedAt())
+                .isEqualTo(catalogEntity.getCreatedAt());
+    }
+
+    @Test
+    void mapsNullToNull() {
+        assertThat(catalogMapper.toResponseCatalog(null)).isNull();
+        assertThat(catalogMapper.toCachedCatalog(null)).isNull();
+        assertThat(catalogMapper.toResponseCatalog(null, 1)).isNull();
+    }
+
+    private static CatalogEntity catalog() {
+        CatalogEntity catalogEntity = new CatalogEntity();
+        catalogEntity.setId(1L);
+        catalogEntity.setProductId("CATALOG-001");
+        catalogEntity.setProductName("Berlin");
+        catalogEntity.setUnitPrice(1500);
+        catalogEntity.setStock(100);
+        catalogEntity.setCreatedAt(new Date(1_700_000_000_000L));
+        return catalogEntity;
+    }
+}
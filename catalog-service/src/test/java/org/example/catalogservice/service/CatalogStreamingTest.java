@@ -0,0 +1,93 @@
+package org.example.catalogservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.example.catalogservice.entity.CatalogEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * H2 에 백만 건을 넣고 streamAllCatalogs 가 heap 사용량을 일정하게 유지하며 전체를 읽는지 확인한다.
+ * 데이터 적재와 System.gc() 에 시간이 걸리므로 perf 태그로 분리한다. (-Pperf 로만 실행)
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class CatalogStreamingTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 150L * 1024 * 1024;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertRows() {
+        for (int from = 0; from < ROWS; from += INSERT_BATCH) {
+            int start = from;
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO catalog(product_id, product_name, stock, unit_price) VALUES (?, ?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setString(1, "BULK-" + (start + i));
+                            ps.setString(2, "PRODUCT-" + (start + i));
+                            ps.setInt(3, 100);
+                            ps.setInt(4, 1000);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return INSERT_BATCH;
+                        }
+                    });
+        }
+    }
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM catalog WHERE product_id LIKE 'BULK-%'");
+    }
+
+    @Test
+    void streamsAllRowsWithBoundedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+
+        AtomicLong bulkRows = new AtomicLong();
+        AtomicLong count = new AtomicLong();
+        AtomicLong lastId = new AtomicLong();
+        AtomicLong peakGrowth = new AtomicLong();
+        catalogService.streamAllCatalogs((CatalogEntity catalog) -> {
+            assertThat(catalog.getId()).isGreaterThan(lastId.get());
+            lastId.set(catalog.getId());
+            if (catalog.getProductId().startsWith("BULK-")) {
+                bulkRows.incrementAndGet();
+            }
+            if (count.incrementAndGet() % 200_000 == 0) {
+                System.gc();
+                peakGrowth.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory() - baseline, Math::max);
+            }
+        });
+
+        // 다른 테스트가 넣은 상품이 함께 읽힐 수 있으므로 여기서 넣은 행만 센다.
+        assertThat(bulkRows.get()).isEqualTo(ROWS);
+        assertThat(peakGrowth.get()).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+}
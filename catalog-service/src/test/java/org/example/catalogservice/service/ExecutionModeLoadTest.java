@@ -0,0 +1,135 @@
+package org.example.catalogservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.catalogservice.CatalogServiceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * catalog-service 를 spring.threads.virtual.enabled=false / true 로 각각 띄우고 같은 HTTP 부하를 주어
+ * Tomcat 요청 스레드(기본 max-threads 200)와 가상 스레드의 동시 처리 수와 p99 지연을 비교한다. (perf 태그, -Pperf 로만 실행)
+ * 요청 하나는 JPA 조회 + 원격 호출 대기(REMOTE_CALL_MILLIS)로 구성된 테스트용 endpoint 를 호출한다.
+ * 가상 스레드 모드는 Java 21 이상에서만 실행된다.
+ */
+@Tag("perf")
+class ExecutionModeLoadTest {
+
+    private static final int REQUESTS = 2_000;
+    private static final int CLIENT_THREADS = 400;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long REMOTE_CALL_MILLIS = 50;
+
+    @Test
+    void virtualThreadsServeMoreConcurrentRequests() throws Exception {
+        Result platform = run(false);
+        assertThat(platform.maxInFlight).isLessThanOrEqualTo(PLATFORM_THREADS);
+
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21+");
+        Result virtual = run(true);
+        assertThat(virtual.maxInFlight).isGreaterThan(PLATFORM_THREADS);
+        assertThat(virtual.p99Millis).isLessThan(platform.p99Millis);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        LoadTestController.inFlight.set(0);
+        LoadTestController.maxInFlight.set(0);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+                        "eureka.client.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.rabbitmq.listener.simple.auto-startup=false")
+                .run()) {
+            URI uri = URI.create("http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/load-test/catalogs");
+            long p99Millis = p99Millis(uri);
+            return new Result(LoadTestController.maxInFlight.get(), p99Millis);
+        }
+    }
+
+    private long p99Millis(URI uri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            List<Future<?>> requests = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                requests.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    latencies.add(System.nanoTime() - start);
+                    return null;
+                }));
+            }
+            for (Future<?> future : requests) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1_000_000;
+    }
+
+    /**
+     * 부하용 endpoint. 테스트 클래스 안에 있으므로 다른 @SpringBootTest 의 component scan 에서는 제외된다.
+     */
+    @RestController
+    static class LoadTestController {
+
+        private static final AtomicInteger inFlight = new AtomicInteger();
+        private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private final CatalogService catalogService;
+
+        LoadTestController(CatalogService catalogService) {
+            this.catalogService = catalogService;
+        }
+
+        @GetMapping("/load-test/catalogs")
+        public int catalogs() throws InterruptedException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                int size = catalogService.getCatalogsAfter(0L, 10).size();
+                Thread.sleep(REMOTE_CALL_MILLIS);
+                return size;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Result {
+        private final int maxInFlight;
+        private final long p99Millis;
+
+        private Result(int maxInFlight, long p99Millis) {
+            this.maxInFlight = maxInFlight;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
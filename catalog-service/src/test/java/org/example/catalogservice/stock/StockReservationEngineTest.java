@@ -0,0 +1,185 @@
+package org.example.catalogservice.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.catalogservice.cache.CachedCatalog;
+import org.example.catalogservice.cache.CatalogSnapshot;
+import org.example.catalogservice.service.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class StockReservationEngineTest {
+
+    private static final int STOCK = 100;
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    @Autowired
+    private StockReservationEngine engine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    private String productId;
+
+    @BeforeEach
+    void insertProduct() {
+        productId = "STOCK-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO catalog(product_id, product_name, stock, unit_price) VALUES (?, ?, ?, ?)",
+                productId, "HOT-PRODUCT", STOCK, 1000);
+    }
+
+    @Test
+    void neverOversellsUnderConcurrentReservations() throws Exception {
+        Queue<String> reservationIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            String reservationId = engine.reserve(productId, 1);
+            if (reservationId == null) {
+                rejected.incrementAndGet();
+            } else {
+                reservationIds.add(reservationId);
+            }
+        });
+
+        assertThat(reservationIds).hasSize(STOCK);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - STOCK);
+        assertThat(engine.available(productId)).isZero();
+
+        reservationIds.forEach(engine::commit);
+        engine.flush();
+        assertThat(stockInDb()).isZero();
+    }
+
+    @Test
+    void releaseAndCommitAreApplied() {
+        String committed = engine.reserve(productId, 30);
+        String released = engine.reserve(productId, 20);
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 50);
+
+        assertThat(engine.release(released)).isTrue();
+        assertThat(engine.release(released)).isFalse();
+        assertThat(engine.commit(committed)).isTrue();
+        // 응답을 잃어버린 commit 의 재시도는 다시 반영되지 않는다.
+        assertThat(engine.commit(committed)).isTrue();
+        assertThat(engine.commit(released)).isFalse();
+        engine.flush();
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK - 30);
+        assertThat(stockInDb()).isEqualTo(STOCK - 30);
+    }
+
+    @Test
+    void releaseOfCommittedReservationRestoresStock() {
+        String reservationId = engine.reserve(productId, 10);
+        engine.commit(reservationId);
+        engine.flush();
+        assertThat(stockInDb()).isEqualTo(STOCK - 10);
+
+        assertThat(engine.release(reservationId)).isTrue();
+        assertThat(engine.release(reservationId)).isFalse();
+        engine.flush();
+
+        assertThat(engine.available(productId)).isEqualTo(STOCK);
+        assertThat(stockInDb()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void flushAppliesDeltaWithoutOverwritingOtherWriters() {
+        engine.commit(engine.reserve(productId, 10));
+        // 다른 catalog-service 인스턴스가 먼저 반영한 차감
+        jdbcTemplate.update("UPDATE catalog SET stock = stock - 5 WHERE product_id = ?", productId);
+
+        engine.flush();
+
+        assertThat(stockInDb()).isEqualTo(STOCK - 15);
+    }
+
+    @Test
+    void flushKeepsCatalogCache() {
+        CatalogSnapshot snapshot = catalogService.getCatalogSnapshot();
+        CachedCatalog catalog = catalogService.getCatalog(productId);
+
+        engine.commit(engine.reserve(productId, 10));
+        engine.flush();
+
+        // 캐시에는 재고가 없으므로 재고가 바뀌어도 다시 만들지 않는다.
+        assertThat(catalogService.getCatalogSnapshot()).isSameAs(snapshot);
+        assertThat(catalogService.getCatalog(productId)).isSameAs(catalog);
+    }
+
+    /**
+     * 한 상품에 여러 스레드가 reserve/release 를 반복하는 부하에서도 가용 재고가 어긋나지 않는다. (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void singleSkuThroughput() throws Exception {
+        int operationsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < operationsPerThread; i++) {
+                    String reservationId = engine.reserve(productId, 1);
+                    if (reservationId != null) {
+                        engine.release(reservationId);
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(engine.available(productId)).isEqualTo(STOCK);
+    }
+
+    private void runConcurrently(Runnable attempt) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        attempt.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    private int stockInDb() {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM catalog WHERE product_id = ?",
+                Integer.class, productId);
+        return stock.get(0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.discoveryservice.delta;
+
+import com.netflix.appinfo.InstanceInfo;
+
+/**
+ * 인스턴스 등록/해제 하나. 전체 목록(reset)을 보낼 때도 인스턴스마다 REGISTER 로 담는다.
+ */
+public class RegistryChange {
+
+	public enum Type {
+		REGISTER, CANCEL
+	}
+
+	private final long version;
+	private final long timestamp;
+	private final Type type;
+	private final String serviceId;
+	private final String instanceId;
+	private final String host;
+	private final int port;
+	private final boolean secure;
+	private final String status;
+
+	RegistryChange(long version, long timestamp, Type type, String serviceId, String instanceId, String host,
+			int port, boolean secure, String status) {
+		this.version = version;
+		this.timestamp = timestamp;
+		this.type = type;
+		this.serviceId = serviceId;
+		this.instanceId = instanceId;
+		this.host = host;
+		this.port = port;
+		this.secure = secure;
+		this.status = status;
+	}
+
+	static RegistryChange register(long version, long timestamp, InstanceInfo info) {
+		boolean secure = info.isPortEnabled(InstanceInfo.PortType.SECURE);
+		return new RegistryChange(version, timestamp, Type.REGISTER, info.getAppName(), info.getInstanceId(),
+				info.getHostName(), secure ? info.getSecurePort() : info.getPort(), secure,
+				info.getStatus() == null ? null : info.getStatus().name());
+	}
+
+	static RegistryChange cancel(long version, long timestamp, String serviceId, String instanceId) {
+		return new RegistryChange(version, timestamp, Type.CANCEL, serviceId, instanceId, null, 0, false, null);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getServiceId() {
+		return serviceId;
+	}
+
+	public String getInstanceId() {
+		return instanceId;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public boolean isSecure() {
+		return secure;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+}
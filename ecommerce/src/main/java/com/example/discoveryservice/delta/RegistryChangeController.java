@@ -0,0 +1,48 @@
+package com.example.discoveryservice.delta;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 등록/해제 변경을 long-poll 로 내려주는 endpoint
+ * - since 이후 변경이 있으면 바로 응답하고, 없으면 다음 변경이 생기거나 timeoutMillis 가 지날 때까지 응답을 미룬다.
+ * - timeout 이면 changes 가 빈 응답을 보낸다. client 는 받은 epoch / version 으로 바로 다시 요청한다.
+ * - registry 가 아직 조회를 허용하지 않으면({@link RegistryChangeLog#isAccessAllowed()}) 503 으로 응답한다.
+ *   client 는 가지고 있던 목록을 그대로 쓰면서 다시 시도한다.
+ */
+@RestController
+public class RegistryChangeController {
+
+	private final RegistryChangeLog changeLog;
+	private final long maxTimeoutMillis;
+
+	public RegistryChangeController(RegistryChangeLog changeLog,
+			@Value("${discovery.delta.max-timeout-millis:60000}") long maxTimeoutMillis) {
+		this.changeLog = changeLog;
+		this.maxTimeoutMillis = maxTimeoutMillis;
+	}
+
+	@GetMapping(value = "/discovery/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+	public DeferredResult<RegistryChanges> changes(@RequestParam(required = false) String epoch,
+			@RequestParam(defaultValue = "-1") long since,
+			@RequestParam(defaultValue = "30000") long timeoutMillis) {
+		if (!changeLog.isAccessAllowed()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "registry is not ready");
+		}
+		long timeout = Math.max(1, Math.min(timeoutMillis, maxTimeoutMillis));
+		DeferredResult<RegistryChanges> result = new DeferredResult<>(timeout,
+				() -> changeLog.changesSince(epoch, since));
+		Runnable unsubscribe = changeLog.subscribe(epoch, since, result::setResult);
+		result.onCompletion(unsubscribe);
+		result.onTimeout(unsubscribe);
+		result.onError(error -> unsubscribe.run());
+		return result;
+	}
+
+}
@@ -0,0 +1,239 @@
+package com.example.discoveryservice.delta;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Eureka 등록/해제 이벤트에 버전을 붙여 최근 history-size 개를 보관하고, 기다리는 client 에게 바로 전달한다.
+ * - epoch 는 서버가 뜰 때마다 새로 정해지므로, client 는 epoch 가 바뀌면 전체 목록(reset)을 다시 받는다.
+ * - Eureka 는 이벤트를 발행한 다음에 registry 를 바꾸므로, reset 에는 grace-millis 안의 최근 변경을 함께 담아
+ *   전체 목록을 만드는 사이에 빠진 변경이 없게 한다. (같은 변경을 두 번 적용해도 결과는 같다.)
+ * 만료(eviction)로 지워지는 인스턴스도 cancel 이벤트가 발행되므로 함께 전달된다.
+ */
+@Component
+public class RegistryChangeLog {
+
+	private final String epoch = UUID.randomUUID().toString();
+	private final int historySize;
+	private final long graceMillis;
+	private final Supplier<List<InstanceInfo>> snapshot;
+	private final LongSupplier clock;
+	private final BooleanSupplier accessAllowed;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ArrayDeque<RegistryChange> history = new ArrayDeque<>();
+	private final List<Waiter> waiters = new ArrayList<>();
+	private long version;
+
+	@Autowired
+	public RegistryChangeLog(@Value("${discovery.delta.history-size:4096}") int historySize,
+			@Value("${discovery.delta.grace-millis:5000}") long graceMillis,
+			ObjectProvider<PeerAwareInstanceRegistry> registry) {
+		this(historySize, graceMillis, () -> registeredInstances(registry.getObject()), System::currentTimeMillis,
+				() -> registry.getObject().shouldAllowAccess(false));
+	}
+
+	RegistryChangeLog(int historySize, long graceMillis, Supplier<List<InstanceInfo>> snapshot, LongSupplier clock,
+			BooleanSupplier accessAllowed) {
+		this.historySize = Math.max(1, historySize);
+		this.graceMillis = graceMillis;
+		this.snapshot = snapshot;
+		this.clock = clock;
+		this.accessAllowed = accessAllowed;
+	}
+
+	@EventListener
+	public void onRegistered(EurekaInstanceRegisteredEvent event) {
+		InstanceInfo info = event.getInstanceInfo();
+		if (info != null) {
+			append(version -> RegistryChange.register(version, clock.getAsLong(), info));
+		}
+	}
+
+	@EventListener
+	public void onCanceled(EurekaInstanceCanceledEvent event) {
+		append(version -> RegistryChange.cancel(version, clock.getAsLong(), event.getAppName(), event.getServerId()));
+	}
+
+	public String getEpoch() {
+		return epoch;
+	}
+
+	/**
+	 * 시작 직후 peer 로부터 registry 를 받아오는 동안에는 false. 이때의 전체 목록은 비어 있거나 일부뿐이므로 내보내지 않는다.
+	 */
+	public boolean isAccessAllowed() {
+		return accessAllowed.getAsBoolean();
+	}
+
+	/**
+	 * @param epoch client 가 마지막으로 받은 epoch, 처음이면 null
+	 * @param since client 가 마지막으로 받은 version
+	 */
+	public RegistryChanges changesSince(String epoch, long since) {
+		List<RegistryChange> recent;
+		long current;
+		lock.lock();
+		try {
+			if (this.epoch.equals(epoch) && since <= version && since >= oldestVersion() - 1) {
+				return new RegistryChanges(this.epoch, version, false, List.of(), changesAfter(since));
+			}
+			recent = recentChanges();
+			current = version;
+		} finally {
+			lock.unlock();
+		}
+
+		// registry 를 읽는 동안 등록/해제를 막지 않도록 lock 밖에서 전체 목록을 만든다.
+		List<RegistryChange> instances = new ArrayList<>();
+		long now = clock.getAsLong();
+		for (InstanceInfo info : snapshot.get()) {
+			instances.add(RegistryChange.register(current, now, info));
+		}
+		return new RegistryChanges(this.epoch, current, true, instances, recent);
+	}
+
+	/**
+	 * since 이후의 변경이 있으면 바로, 없으면 다음 변경이 생길 때 listener 에 한 번 전달한다.
+	 *
+	 * @return 기다리기를 취소하는 handle (timeout, 연결 종료 시 호출)
+	 */
+	public Runnable subscribe(String epoch, long since, Consumer<RegistryChanges> listener) {
+		Waiter waiter = new Waiter(epoch, since, listener);
+		lock.lock();
+		try {
+			if (this.epoch.equals(epoch) && since == version) {
+				waiters.add(waiter);
+				return () -> remove(waiter);
+			}
+		} finally {
+			lock.unlock();
+		}
+		listener.accept(changesSince(epoch, since));
+		return () -> {
+		};
+	}
+
+	long getVersion() {
+		lock.lock();
+		try {
+			return version;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	int getWaiterCount() {
+		lock.lock();
+		try {
+			return waiters.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void append(VersionedChange change) {
+		List<Waiter> ready;
+		lock.lock();
+		try {
+			history.addLast(change.create(++version));
+			if (history.size() > historySize) {
+				history.removeFirst();
+			}
+			if (waiters.isEmpty()) {
+				return;
+			}
+			ready = new ArrayList<>(waiters);
+			waiters.clear();
+		} finally {
+			lock.unlock();
+		}
+		// listener 는 응답을 쓰므로 lock 밖에서 호출한다.
+		for (Waiter waiter : ready) {
+			waiter.listener.accept(changesSince(waiter.epoch, waiter.since));
+		}
+	}
+
+	private void remove(Waiter waiter) {
+		lock.lock();
+		try {
+			waiters.remove(waiter);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private long oldestVersion() {
+		return history.isEmpty() ? version + 1 : history.peekFirst().getVersion();
+	}
+
+	private List<RegistryChange> changesAfter(long since) {
+		int count = (int) (version - since);
+		if (count == 0) {
+			return List.of();
+		}
+		RegistryChange[] changes = new RegistryChange[count];
+		Iterator<RegistryChange> descending = history.descendingIterator();
+		for (int i = count - 1; i >= 0; i--) {
+			changes[i] = descending.next();
+		}
+		return List.of(changes);
+	}
+
+	private List<RegistryChange> recentChanges() {
+		long from = clock.getAsLong() - graceMillis;
+		List<RegistryChange> recent = new ArrayList<>();
+		Iterator<RegistryChange> descending = history.descendingIterator();
+		while (descending.hasNext()) {
+			RegistryChange change = descending.next();
+			if (change.getTimestamp() < from) {
+				break;
+			}
+			recent.add(0, change);
+		}
+		return recent;
+	}
+
+	private static List<InstanceInfo> registeredInstances(PeerAwareInstanceRegistry registry) {
+		List<InstanceInfo> instances = new ArrayList<>();
+		for (Application application : registry.getApplications().getRegisteredApplications()) {
+			instances.addAll(application.getInstances());
+		}
+		return instances;
+	}
+
+	private interface VersionedChange {
+		RegistryChange create(long version);
+	}
+
+	private static final class Waiter {
+		private final String epoch;
+		private final long since;
+		private final Consumer<RegistryChanges> listener;
+
+		private Waiter(String epoch, long since, Consumer<RegistryChanges> listener) {
+			this.epoch = epoch;
+			this.since = since;
+			this.listener = listener;
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.example.discoveryservice.delta;
+
+import java.util.List;
+
+/**
+ * /discovery/changes 응답
+ * - reset 이 false 면 since 이후의 changes 만 담는다.
+ * - reset 이 true 면 (서버 재시작으로 epoch 가 다르거나 since 가 보관 범위를 벗어남) instances 에 전체 목록을 담고,
+ *   changes 에는 전체 목록을 만드는 동안 반영되지 않았을 수 있는 최근 변경을 담는다. client 는 instances 로 교체한 뒤 changes 를 적용한다.
+ */
+public class RegistryChanges {
+
+	private final String epoch;
+	private final long version;
+	private final boolean reset;
+	private final List<RegistryChange> instances;
+	private final List<RegistryChange> changes;
+
+	RegistryChanges(String epoch, long version, boolean reset, List<RegistryChange> instances,
+			List<RegistryChange> changes) {
+		this.epoch = epoch;
+		this.version = version;
+		this.reset = reset;
+		this.instances = instances;
+		this.changes = changes;
+	}
+
+	public String getEpoch() {
+		return epoch;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isReset() {
+		return reset;
+	}
+
+	public List<RegistryChange> getInstances() {
+		return instances;
+	}
+
+	public List<RegistryChange> getChanges() {
+		return changes;
+	}
+
+	boolean isEmpty() {
+		return !reset && changes.isEmpty();
+	}
+
+}
@@ -0,0 +1,251 @@
+package com.example.discoveryservice.snapshot;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import com.netflix.eureka.resources.ServerCodecs;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRenewedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전체 registry 조회(GET /eureka/apps/) 응답을 미리 인코딩/압축해 둔 snapshot
+ * - register / cancel, 그리고 상태(UP, DOWN 등)가 바뀐 renew 가 있을 때만 debounce-millis 뒤에 한 번 다시 만든다.
+ *   몰려드는 등록은 한 번의 rebuild 로 합쳐지고, Eureka 가 이벤트 발행 후 registry 를 바꾸는 사이의 변경도 반영된다.
+ * - 상태가 그대로인 renew 는 snapshot 을 바꾸지 않으므로, 변경이 없는 동안에는 version(ETag)이 유지된다.
+ * - refresh-millis 마다 apps hashcode 를 비교해 이벤트 없이 바뀐 상태(status override 등)도 반영한다.
+ * 요청 처리({@link RegistrySnapshotFilter})에서는 인코딩이나 압축 없이 만들어 둔 byte 배열만 쓴다.
+ */
+@Component
+public class RegistrySnapshot {
+
+	private static final Logger log = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+	private final long debounceMillis;
+	private final Supplier<Applications> applications;
+	private final Function<Applications, String> encoder;
+	private final BooleanSupplier accessAllowed;
+	private final String etagPrefix = Long.toHexString(System.currentTimeMillis());
+
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+	private volatile Snapshot current;
+	private long version;
+
+	private ScheduledExecutorService scheduler;
+
+	@Autowired
+	public RegistrySnapshot(@Value("${registry.snapshot.debounce-millis:50}") long debounceMillis,
+			@Value("${registry.snapshot.refresh-millis:30000}") long refreshMillis,
+			ObjectProvider<PeerAwareInstanceRegistry> registry, ServerCodecs serverCodecs) {
+		this(debounceMillis, () -> registry.getObject().getApplications(), apps -> {
+			try {
+				return serverCodecs.getFullJsonCodec().encode(apps);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, () -> registry.getObject().shouldAllowAccess(false));
+		start(refreshMillis);
+	}
+
+	RegistrySnapshot(long debounceMillis, Supplier<Applications> applications,
+			Function<Applications, String> encoder, BooleanSupplier accessAllowed) {
+		this.debounceMillis = debounceMillis;
+		this.applications = applications;
+		this.encoder = encoder;
+		this.accessAllowed = accessAllowed;
+	}
+
+	/**
+	 * 시작 직후 peer 로부터 registry 를 받아오는 동안(wait-time-in-ms-when-sync-empty)에는 false.
+	 * Eureka 는 이 동안 full fetch 에 403 으로 응답하므로 snapshot 도 내보내지 않는다.
+	 */
+	public boolean isAccessAllowed() {
+		return accessAllowed.getAsBoolean();
+	}
+
+	/**
+	 * 현재 snapshot. 아직 만든 적이 없으면 요청 스레드에서 한 번 만든다.
+	 */
+	public Snapshot current() {
+		Snapshot snapshot = current;
+		if (snapshot != null) {
+			return snapshot;
+		}
+		rebuildLock.lock();
+		try {
+			snapshot = current;
+			return snapshot != null ? snapshot : rebuild(applications.get());
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	@EventListener
+	public void onRegistered(EurekaInstanceRegisteredEvent event) {
+		markDirty();
+	}
+
+	@EventListener
+	public void onCanceled(EurekaInstanceCanceledEvent event) {
+		markDirty();
+	}
+
+	@EventListener
+	public void onRenewed(EurekaInstanceRenewedEvent event) {
+		InstanceInfo info = event.getInstanceInfo();
+		Snapshot snapshot = current;
+		if (info != null && snapshot != null
+				&& snapshot.statuses.get(info.getInstanceId()) != info.getStatus()) {
+			markDirty();
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	void markDirty() {
+		if (current == null || scheduler == null) {
+			current = null;
+			return;
+		}
+		if (rebuildScheduled.compareAndSet(false, true)) {
+			scheduler.schedule(this::rebuildScheduled, debounceMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	Snapshot rebuild() {
+		rebuildLock.lock();
+		try {
+			return rebuild(applications.get());
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private void start(long refreshMillis) {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "registry-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::refreshIfChanged, refreshMillis, refreshMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private void rebuildScheduled() {
+		// rebuild 중에 들어온 변경은 다음 rebuild 로 넘어가도록 먼저 내린다.
+		rebuildScheduled.set(false);
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			log.warn("registry snapshot rebuild failed", e);
+		}
+	}
+
+	private void refreshIfChanged() {
+		try {
+			Snapshot snapshot = current;
+			Applications apps = applications.get();
+			if (snapshot == null || !Objects.equals(apps.getAppsHashCode(), snapshot.appsHashCode)) {
+				rebuildLock.lock();
+				try {
+					rebuild(apps);
+				} finally {
+					rebuildLock.unlock();
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("registry snapshot refresh failed", e);
+		}
+	}
+
+	private Snapshot rebuild(Applications apps) {
+		byte[] json = encoder.apply(apps).getBytes(StandardCharsets.UTF_8);
+		Map<String, InstanceInfo.InstanceStatus> statuses = new HashMap<>();
+		for (Application application : apps.getRegisteredApplications()) {
+			for (InstanceInfo instance : application.getInstances()) {
+				statuses.put(instance.getInstanceId(), instance.getStatus());
+			}
+		}
+		Snapshot snapshot = new Snapshot(++version, '"' + etagPrefix + '-' + version + '"', json, gzip(json),
+				apps.getAppsHashCode(), statuses);
+		current = snapshot;
+		return snapshot;
+	}
+
+	private static byte[] gzip(byte[] bytes) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	public static final class Snapshot {
+		private final long version;
+		private final String etag;
+		private final byte[] json;
+		private final byte[] gzip;
+		private final String appsHashCode;
+		private final Map<String, InstanceInfo.InstanceStatus> statuses;
+
+		private Snapshot(long version, String etag, byte[] json, byte[] gzip, String appsHashCode,
+				Map<String, InstanceInfo.InstanceStatus> statuses) {
+			this.version = version;
+			this.etag = etag;
+			this.json = json;
+			this.gzip = gzip;
+			this.appsHashCode = appsHashCode;
+			this.statuses = statuses;
+		}
+
+		public long getVersion() {
+			return version;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public byte[] getJson() {
+			return json;
+		}
+
+		public byte[] getGzip() {
+			return gzip;
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.example.discoveryservice.snapshot;
+
+import com.example.discoveryservice.snapshot.RegistrySnapshot.Snapshot;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * JSON 전체 registry 조회(GET /eureka/apps/)를 Eureka(Jersey)까지 보내지 않고 {@link RegistrySnapshot} 으로 응답한다.
+ * - ETag 를 붙이고, If-None-Match 가 같으면 본문 없이 304 로 응답한다.
+ * - Accept-Encoding 에 gzip 이 있으면 미리 압축해 둔 본문을 보낸다.
+ * XML, compact 형식, 원격 region, 특정 application 조회와 delta 조회는 그대로 Eureka 가 처리한다.
+ * registry 가 아직 조회를 허용하지 않을 때({@link RegistrySnapshot#isAccessAllowed()})도 Eureka 로 넘겨 403 을 받게 한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RegistrySnapshotFilter extends OncePerRequestFilter {
+
+	private final RegistrySnapshot registrySnapshot;
+
+	public RegistrySnapshotFilter(RegistrySnapshot registrySnapshot) {
+		this.registrySnapshot = registrySnapshot;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		return !"GET".equals(request.getMethod())
+				|| !("/eureka/apps".equals(path) || "/eureka/apps/".equals(path))
+				|| request.getParameter("regions") != null
+				|| accept == null || !accept.contains(MediaType.APPLICATION_JSON_VALUE)
+				|| "compact".equalsIgnoreCase(request.getHeader("X-Eureka-Accept"))
+				|| !registrySnapshot.isAccessAllowed();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Snapshot snapshot = registrySnapshot.current();
+		response.setHeader(HttpHeaders.ETAG, snapshot.getEtag());
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), snapshot.getEtag())) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		byte[] body = snapshot.getJson();
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			body = snapshot.getGzip();
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	private static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.equals("*") || value.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
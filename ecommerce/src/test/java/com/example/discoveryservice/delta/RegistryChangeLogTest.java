@@ -0,0 +1,126 @@
+package com.example.discoveryservice.delta;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.netflix.appinfo.InstanceInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.web.server.ResponseStatusException;
+
+class RegistryChangeLogTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private final List<InstanceInfo> registered = new ArrayList<>();
+	private final AtomicBoolean accessAllowed = new AtomicBoolean(true);
+	private final RegistryChangeLog changeLog = new RegistryChangeLog(3, 5_000, () -> registered, now::get,
+			accessAllowed::get);
+
+	@Test
+	void returnsChangesSinceVersion() {
+		RegistryChanges first = changeLog.changesSince(null, -1);
+		assertThat(first.isReset()).isTrue();
+
+		register("USER-SERVICE", "u1", 8081);
+		cancel("USER-SERVICE", "u1");
+
+		RegistryChanges changes = changeLog.changesSince(first.getEpoch(), first.getVersion());
+		assertThat(changes.isReset()).isFalse();
+		assertThat(changes.getVersion()).isEqualTo(2);
+		assertThat(changes.getChanges()).extracting(RegistryChange::getType)
+				.containsExactly(RegistryChange.Type.REGISTER, RegistryChange.Type.CANCEL);
+		assertThat(changes.getChanges().get(0).getPort()).isEqualTo(8081);
+		assertThat(changeLog.changesSince(first.getEpoch(), 2).getChanges()).isEmpty();
+	}
+
+	@Test
+	void rejectsPollsWhileRegistryDisallowsAccess() {
+		RegistryChangeController controller = new RegistryChangeController(changeLog, 60_000);
+		accessAllowed.set(false);
+
+		assertThatThrownBy(() -> controller.changes(null, -1, 1_000))
+				.isInstanceOf(ResponseStatusException.class)
+				.extracting(e -> ((ResponseStatusException) e).getStatusCode().value())
+				.isEqualTo(503);
+		assertThat(changeLog.getWaiterCount()).isZero();
+	}
+
+	@Test
+	void resetsWithSnapshotAndRecentChanges() {
+		register("USER-SERVICE", "old", 8080);
+		now.addAndGet(10_000);
+		registered.add(instance("USER-SERVICE", "old", 8080));
+		// registry 에 아직 반영되지 않은 등록
+		register("ORDER-SERVICE", "o1", 9090);
+
+		RegistryChanges changes = changeLog.changesSince("other-epoch", 5);
+		assertThat(changes.isReset()).isTrue();
+		assertThat(changes.getVersion()).isEqualTo(2);
+		assertThat(changes.getInstances()).extracting(RegistryChange::getInstanceId).containsExactly("old");
+		assertThat(changes.getChanges()).extracting(RegistryChange::getInstanceId).containsExactly("o1");
+	}
+
+	@Test
+	void resetsWhenSinceIsOlderThanHistory() {
+		String epoch = changeLog.getEpoch();
+		for (int i = 0; i < 5; i++) {
+			register("USER-SERVICE", "u" + i, 8080 + i);
+		}
+
+		assertThat(changeLog.changesSince(epoch, 0).isReset()).isTrue();
+		assertThat(changeLog.changesSince(epoch, 1).isReset()).isTrue();
+		assertThat(changeLog.changesSince(epoch, 2).getChanges()).hasSize(3);
+	}
+
+	@Test
+	void wakesSubscriberOnNextChange() {
+		String epoch = changeLog.getEpoch();
+		AtomicReference<RegistryChanges> received = new AtomicReference<>();
+		changeLog.subscribe(epoch, 0, received::set);
+		assertThat(received.get()).isNull();
+		assertThat(changeLog.getWaiterCount()).isEqualTo(1);
+
+		register("USER-SERVICE", "u1", 8081);
+
+		assertThat(received.get().getChanges()).extracting(RegistryChange::getInstanceId).containsExactly("u1");
+		assertThat(changeLog.getWaiterCount()).isZero();
+	}
+
+	@Test
+	void unsubscribeRemovesWaiter() {
+		AtomicReference<RegistryChanges> received = new AtomicReference<>();
+		Runnable unsubscribe = changeLog.subscribe(changeLog.getEpoch(), 0, received::set);
+		unsubscribe.run();
+
+		register("USER-SERVICE", "u1", 8081);
+
+		assertThat(received.get()).isNull();
+		assertThat(changeLog.getWaiterCount()).isZero();
+	}
+
+	private void register(String app, String instanceId, int port) {
+		changeLog.onRegistered(new EurekaInstanceRegisteredEvent(this, instance(app, instanceId, port), 30, false));
+	}
+
+	private void cancel(String app, String instanceId) {
+		changeLog.onCanceled(new EurekaInstanceCanceledEvent(this, app, instanceId, false));
+	}
+
+	private static InstanceInfo instance(String app, String instanceId, int port) {
+		return InstanceInfo.Builder.newBuilder()
+				.setAppName(app)
+				.setInstanceId(instanceId)
+				.setHostName("127.0.0.1")
+				.setIPAddr("127.0.0.1")
+				.setPort(port)
+				.setStatus(InstanceInfo.InstanceStatus.UP)
+				.build();
+	}
+
+}
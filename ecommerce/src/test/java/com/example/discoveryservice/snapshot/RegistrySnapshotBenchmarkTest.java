@@ -0,0 +1,211 @@
+package com.example.discoveryservice.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.netflix.appinfo.DataCenterInfo;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.LeaseInfo;
+import com.netflix.appinfo.MyDataCenterInfo;
+import com.netflix.discovery.converters.wrappers.CodecWrappers;
+import com.netflix.discovery.shared.Application;
+import com.netflix.discovery.shared.Applications;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRenewedEvent;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * 합성 등록(50 application x 10 instance)으로 전체 registry 조회 한 번의 CPU 시간과 전송 크기를 비교한다.
+ * - 매번 인코딩 + 압축 (snapshot 이 없을 때 full fetch 마다 하는 일)
+ * - snapshot 응답 (gzip)
+ * - snapshot 조건부 응답 (If-None-Match, 304)
+ * 측정 테스트는 perf 태그로 분리되어 -Pperf 로만 실행된다.
+ */
+class RegistrySnapshotBenchmarkTest {
+
+	private static final int APPLICATIONS = 50;
+	private static final int INSTANCES_PER_APPLICATION = 10;
+	private static final int FETCHES = 300;
+
+	private final CodecWrappers.JacksonJson codec = CodecWrappers.getCodec(CodecWrappers.JacksonJson.class);
+	private final AtomicReference<Applications> applications = new AtomicReference<>();
+	private final AtomicBoolean accessAllowed = new AtomicBoolean(true);
+	private RegistrySnapshot snapshot;
+	private RegistrySnapshotFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		applications.set(applications(InstanceInfo.InstanceStatus.UP));
+		snapshot = new RegistrySnapshot(0, applications::get, this::encode, accessAllowed::get);
+		filter = new RegistrySnapshotFilter(snapshot);
+	}
+
+	@Test
+	@Tag("perf")
+	void cpuAndBytesPerFetch() throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		long encodedBytes = 0;
+		long start = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < FETCHES; i++) {
+			encodedBytes = gzip(encode(applications.get()).getBytes(StandardCharsets.UTF_8)).length;
+		}
+		long encodeNanos = (threads.getCurrentThreadCpuTime() - start) / FETCHES;
+
+		fetch(null);
+		long snapshotBytes = 0;
+		start = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < FETCHES; i++) {
+			snapshotBytes = fetch(null).getContentAsByteArray().length;
+		}
+		long snapshotNanos = (threads.getCurrentThreadCpuTime() - start) / FETCHES;
+
+		String etag = snapshot.current().getEtag();
+		MockHttpServletResponse notModified = null;
+		start = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < FETCHES; i++) {
+			notModified = fetch(etag);
+		}
+		long notModifiedNanos = (threads.getCurrentThreadCpuTime() - start) / FETCHES;
+
+		assertThat(snapshotNanos).isLessThan(encodeNanos);
+		assertThat(notModifiedNanos).isLessThan(encodeNanos);
+		assertThat(snapshotBytes).isLessThanOrEqualTo(encodedBytes).isLessThan(snapshot.current().getJson().length);
+		assertThat(notModified.getStatus()).isEqualTo(304);
+		assertThat(notModified.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void servesGzipWithEtag() throws Exception {
+		MockHttpServletResponse response = fetch(null);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(response.getHeader("ETag")).isEqualTo(snapshot.current().getEtag());
+		assertThat(gunzip(response.getContentAsByteArray()))
+				.isEqualTo(encode(applications.get()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void keepsVersionOnRenewAndRebuildsOnChange() {
+		long version = snapshot.current().getVersion();
+		InstanceInfo renewed = applications.get().getRegisteredApplications().get(0).getInstances().get(0);
+
+		snapshot.onRenewed(new EurekaInstanceRenewedEvent(this, renewed.getAppName(), renewed.getInstanceId(),
+				renewed, false));
+		assertThat(snapshot.current().getVersion()).isEqualTo(version);
+
+		applications.set(applications(InstanceInfo.InstanceStatus.DOWN));
+		InstanceInfo down = applications.get().getRegisteredApplications().get(0).getInstances().get(0);
+		snapshot.onRenewed(new EurekaInstanceRenewedEvent(this, down.getAppName(), down.getInstanceId(), down, false));
+		assertThat(snapshot.current().getVersion()).isEqualTo(version + 1);
+
+		snapshot.onRegistered(new EurekaInstanceRegisteredEvent(this, down, 30, false));
+		assertThat(snapshot.current().getVersion()).isEqualTo(version + 2);
+	}
+
+	@Test
+	void passesThroughOtherRequests() throws Exception {
+		MockHttpServletRequest xml = new MockHttpServletRequest("GET", "/eureka/apps/");
+		xml.addHeader("Accept", "application/xml");
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(xml, new MockHttpServletResponse(), chain);
+		assertThat(chain.getRequest()).isNotNull();
+
+		MockHttpServletRequest delta = new MockHttpServletRequest("GET", "/eureka/apps/delta");
+		delta.addHeader("Accept", "application/json");
+		chain = new MockFilterChain();
+		filter.doFilter(delta, new MockHttpServletResponse(), chain);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void passesThroughWhileRegistryDisallowsAccess() throws Exception {
+		accessAllowed.set(false);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/eureka/apps/");
+		request.addHeader("Accept", "application/json");
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(response.getHeader("ETag")).isNull();
+	}
+
+	private MockHttpServletResponse fetch(String ifNoneMatch) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/eureka/apps/");
+		request.addHeader("Accept", "application/json");
+		request.addHeader("Accept-Encoding", "gzip");
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private String encode(Applications apps) {
+		try {
+			return codec.encode(apps);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Applications applications(InstanceInfo.InstanceStatus firstStatus) {
+		Applications apps = new Applications();
+		for (int a = 0; a < APPLICATIONS; a++) {
+			Application application = new Application("SERVICE-" + a);
+			for (int i = 0; i < INSTANCES_PER_APPLICATION; i++) {
+				String host = "10.0." + a + "." + i;
+				application.addInstance(InstanceInfo.Builder.newBuilder()
+						.setAppName("SERVICE-" + a)
+						.setInstanceId("service-" + a + ":" + i)
+						.setHostName(host)
+						.setIPAddr(host)
+						.setPort(8080 + i)
+						.setVIPAddress("service-" + a)
+						.setDataCenterInfo(new MyDataCenterInfo(DataCenterInfo.Name.MyOwn))
+						.setLeaseInfo(LeaseInfo.Builder.newBuilder().build())
+						.setMetadata(Map.of("zone", "zone-" + i % 3))
+						.setStatus(a == 0 && i == 0 ? firstStatus : InstanceInfo.InstanceStatus.UP)
+						.build());
+			}
+			apps.addApplication(application);
+		}
+		apps.setAppsHashCode(apps.getReconcileHashCode());
+		return apps;
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
@@ -3,14 +3,29 @@ package org.example.orderservice;
 import com.netflix.discovery.EurekaNamespace;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class OrderServiceApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(OrderServiceApplication.class, args);
 	}
 
+	/**
+	 * RestTemplateBuilder 로 만들어야 요청마다 client span 이 생기고 traceparent 헤더가 전파된다.
+	 */
+	@Bean
+	@LoadBalanced
+	public RestTemplate getRestTemplate(RestTemplateBuilder restTemplateBuilder){
+		return restTemplateBuilder.build();
+	}
+
 }
@@ -0,0 +1,86 @@
+package org.example.orderservice.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.vo.RequestReservation;
+import org.example.orderservice.vo.ResponseReservation;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * catalog-service 재고 예약 API 호출
+ * 재고 부족(409) / 없는 상품(404) 은 같은 상태 코드의 ResponseStatusException 으로 전달한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogServiceClient {
+
+    private final RestTemplate restTemplate;
+    private final Environment env;
+
+    public String reserve(String productId, int qty) {
+        try {
+            ResponseReservation reservation = restTemplate.postForObject(env.getProperty("catalog_service.url"),
+                    new RequestReservation(productId, qty), ResponseReservation.class);
+            return reservation.getReservationId();
+        } catch (HttpClientErrorException.Conflict e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Out of stock: " + productId);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + productId);
+        }
+    }
+
+    /**
+     * 예약을 확정한다. 연결 오류/5xx 는 catalog_service.commit-attempts 번까지 다시 시도한다.
+     * (catalog-service 의 commit 은 같은 예약에 여러 번 호출해도 한 번만 반영된다.)
+     *
+     * @return 확정되었으면 true. 예약이 만료되었거나(404) 끝내 응답을 받지 못하면 false
+     */
+    public boolean commit(String reservationId) {
+        int attempts = Math.max(1, env.getProperty("catalog_service.commit-attempts", Integer.class, 3));
+        long backoffMillis = env.getProperty("catalog_service.commit-backoff-millis", Long.class, 100L);
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                restTemplate.postForLocation(env.getProperty("catalog_service.url") + "/{id}/commit", null,
+                        reservationId);
+                return true;
+            } catch (HttpClientErrorException e) {
+                log.error("stock reservation commit rejected: {} ({})", reservationId, e.getStatusCode());
+                return false;
+            } catch (RestClientException e) {
+                log.warn("stock reservation commit failed: {} (attempt {}/{})", reservationId, attempt, attempts, e);
+            }
+            if (attempt < attempts && !sleep(backoffMillis * attempt)) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 확정 전 예약과 확정된 지 stock.reservation.ttl-millis 가 지나지 않은 예약 모두 취소할 수 있다. (재고가 되돌아간다)
+     */
+    public void release(String reservationId) {
+        try {
+            restTemplate.delete(env.getProperty("catalog_service.url") + "/{id}", reservationId);
+        } catch (RestClientException e) {
+            log.warn("stock reservation release failed: {}", reservationId, e);
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
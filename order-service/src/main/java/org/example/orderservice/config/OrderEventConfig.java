@@ -0,0 +1,21 @@
+package org.example.orderservice.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 주문 도메인 이벤트 발행 설정
+ * 이벤트는 outbox 에 JSON 으로 기록된 뒤 OutboxRelay 가 order.events exchange 로 발행한다.
+ */
+@Configuration
+public class OrderEventConfig {
+
+    public static final String ORDER_EVENTS_EXCHANGE = "order.events";
+    public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
+
+    @Bean
+    public TopicExchange orderEventsExchange() {
+        return new TopicExchange(ORDER_EVENTS_EXCHANGE);
+    }
+}
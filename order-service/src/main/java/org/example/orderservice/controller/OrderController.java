@@ -1,33 +1,51 @@
 package org.example.orderservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.dto.BulkOrderResult;
 import org.example.orderservice.dto.OrderDto;
 import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.mapper.OrderMapper;
 import org.example.orderservice.service.OrderService;
 import org.example.orderservice.vo.RequestOrder;
 import org.example.orderservice.vo.ResponseOrder;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import org.example.orderservice.vo.ResponseUserOrders;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/order-service")
 public class OrderController {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final Environment environment;
     private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/health_check")
     public String status() {
@@ -41,32 +59,149 @@ public class OrderController {
         log.info("order: {}", order);
         log.info("userId: {}", userId);
 
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        OrderDto orderDto = mapper.map(order, OrderDto.class);
+        OrderDto orderDto = orderMapper.toOrderDto(order);
         orderDto.setUserId(userId);
 
         OrderDto createdOrder = orderService.createOrder(orderDto);
-        ResponseOrder responseOrder = mapper.map(createdOrder, ResponseOrder.class);
+        ResponseOrder responseOrder = orderMapper.toResponseOrder(createdOrder);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responseOrder);
     }
 
+    /**
+     * 대량 주문 등록 (JSON 배열). 줄 번호는 1부터 시작하며, 줄마다 결과를 반환한다.
+     */
+    @PostMapping(value = "/{userId}/orders/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createOrdersBulk(@PathVariable("userId") String userId,
+                                              @RequestBody List<RequestOrder> orders) {
+        log.info("OrderController.createOrdersBulk: {} orders", orders.size());
+        List<OrderDto> orderDtos = new ArrayList<>(orders.size());
+        orders.forEach(v -> orderDtos.add(orderMapper.toOrderDto(v)));
+        return ResponseEntity.status(HttpStatus.OK).body(orderService.createOrders(userId, orderDtos, 1));
+    }
+
+    /**
+     * 대량 주문 등록 (NDJSON). 요청 본문을 한 줄씩 읽어 order.bulk.chunk-size 개가 모일 때마다 저장한다.
+     * 해석할 수 없는 줄은 INVALID 로 보고하고 나머지 줄은 계속 처리한다. 빈 줄은 건너뛰지만 줄 번호는 센다.
+     */
+    @PostMapping(value = "/{userId}/orders/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> createOrdersBulkStream(@PathVariable("userId") String userId,
+                                                    InputStream body) throws IOException {
+        log.info("OrderController.createOrdersBulkStream");
+        int chunkSize = environment.getProperty("order.bulk.chunk-size", Integer.class, 500);
+        List<BulkOrderResult> results = new ArrayList<>();
+        List<OrderDto> chunk = new ArrayList<>(chunkSize);
+        int firstLine = 1;
+        int lineNumber = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (chunk.isEmpty()) {
+                firstLine = lineNumber;
+            }
+            chunk.add(readOrder(line));
+            if (chunk.size() == chunkSize) {
+                results.addAll(orderService.createOrders(userId, chunk, firstLine));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(orderService.createOrders(userId, chunk, firstLine));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(results);
+    }
+
+    /**
+     * size 를 지정하면 afterId 다음부터 size 개만 반환하고, 다음 페이지의 afterId 를 X-Next-After-Id 헤더로 알려준다.
+     */
     @GetMapping("/{userId}/orders")
-    public ResponseEntity<?>getOrders(@PathVariable("userId") String userId) {
+    public ResponseEntity<?>getOrders(@PathVariable("userId") String userId,
+                                      @RequestParam(required = false) Long afterId,
+                                      @RequestParam(required = false) Integer size) {
         log.info("OrderController.getOrders");
+        if (size != null) {
+            List<OrderEntity> orders = orderService.getOrdersByUserIdAfter(userId, afterId == null ? 0L : afterId,
+                    Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            List<ResponseOrder> responseOrders = new ArrayList<>(orders.size());
+            orders.forEach(v -> responseOrders.add(orderMapper.toResponseOrder(v)));
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+            if (!orders.isEmpty()) {
+                response.header("X-Next-After-Id", String.valueOf(orders.get(orders.size() - 1).getId()));
+            }
+            return response.body(responseOrders);
+        }
+
         Iterable<OrderEntity> orders = orderService.getOrdersByUserId(userId);
         List<ResponseOrder> responseOrders = new ArrayList<>();
         orders.forEach(v -> {
-            responseOrders.add(new ModelMapper().map(v, ResponseOrder.class));
+            responseOrders.add(orderMapper.toResponseOrder(v));
         });
         return ResponseEntity.status(HttpStatus.OK).body(responseOrders);
     }
 
+    /**
+     * Accept: application/x-ndjson 요청 시 사용자의 주문을 DB 에서 읽는 대로 한 줄씩 내려준다.
+     */
+    @GetMapping(value = "/{userId}/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders(@PathVariable("userId") String userId) {
+        log.info("OrderController.streamOrders");
+        StreamingResponseBody body = out ->
+                orderService.streamOrdersByUserId(userId, v -> writeLine(out, orderMapper.toResponseOrder(v)));
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * 여러 사용자의 주문 목록을 한 번에 조회한다.
+     * 요청: ["userId1", "userId2"], 응답(NDJSON): 사용자마다 한 줄씩 {"userId": "userId1", "orders": [...]}
+     * DB 에서 userId 순으로 읽는 대로 사용자 단위로 내려주므로 전체 결과를 메모리에 모으지 않는다.
+     * 한 번에 조회할 수 있는 사용자 수는 order_service.batch.max-size 까지이고, 넘으면 400 으로 거절한다.
+     */
+    @PostMapping("/orders/by-users")
+    public ResponseEntity<?> getOrdersByUsers(@RequestBody List<String> userIds) {
+        log.info("OrderController.getOrdersByUsers: {} users", userIds.size());
+        int maxSize = environment.getProperty("order_service.batch.max-size", Integer.class, 100);
+        if (userIds.size() > maxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("too many userIds (max " + maxSize + ")");
+        }
+        Set<String> distinctUserIds = new LinkedHashSet<>(userIds);
+        StreamingResponseBody body = out -> orderService.streamOrdersByUserIds(distinctUserIds, (userId, orders) -> {
+            List<ResponseOrder> userOrders = new ArrayList<>(orders.size());
+            orders.forEach(v -> userOrders.add(orderMapper.toResponseOrder(v)));
+            ResponseUserOrders line = new ResponseUserOrders();
+            line.setUserId(userId);
+            line.setOrders(userOrders);
+            writeLine(out, line);
+        });
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<?>getOrder(@PathVariable("orderId") String orderId) {
         log.info("OrderController.getOrder");
         OrderDto order = orderService.getOrderByOrderId(orderId);
-        return ResponseEntity.status(HttpStatus.OK).body(new ModelMapper().map(order, ResponseOrder.class));
+        return ResponseEntity.status(HttpStatus.OK).body(orderMapper.toResponseOrder(order));
+    }
+
+    private OrderDto readOrder(String line) {
+        try {
+            return orderMapper.toOrderDto(objectMapper.readValue(line, RequestOrder.class));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,45 @@
+package org.example.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.Data;
+
+/**
+ * 대량 주문 등록의 줄 단위 결과
+ */
+@Data
+@JsonInclude(Include.NON_NULL)
+public class BulkOrderResult {
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+    // FAILED 줄의 error. DB 오류 메시지는 내부 정보가 섞여 있고 드라이버마다 달라서 응답에 싣지 않는다.
+    public static final String SAVE_FAILED = "SAVE_FAILED";
+
+    private int line;
+    private String status;
+    private String orderId;
+    private String error;
+
+    public static BulkOrderResult created(int line, String orderId) {
+        BulkOrderResult result = new BulkOrderResult();
+        result.line = line;
+        result.status = CREATED;
+        result.orderId = orderId;
+        return result;
+    }
+
+    public static BulkOrderResult invalid(int line, String error) {
+        BulkOrderResult result = new BulkOrderResult();
+        result.line = line;
+        result.status = INVALID;
+        result.error = error;
+        return result;
+    }
+
+    public void fail(String error) {
+        this.status = FAILED;
+        this.orderId = null;
+        this.error = error;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.orderservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 주문과 같은 트랜잭션에서 기록되는 발행 대기 이벤트
+ * sentAt 이 null 인 행을 OutboxRelay 가 읽어 발행한다.
+ */
+@Entity
+@Data
+@Table(name = "outbox", indexes = @Index(name = "idx_outbox_sent_at", columnList = "sentAt, id"))
+public class OutboxEntity implements Serializable {
+    @Id
+    // 대량 주문 chunk 에서 주문 한 건마다 한 행씩 쌓이므로, orders 와 함께 batch insert 되도록 sequence 로 키를 받는다.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // 소비자가 중복 수신을 걸러낼 수 있도록 AMQP messageId 로 그대로 전달된다.
+    @Column(nullable = false, unique = true, length = 160)
+    private String messageKey;
+    @Column(nullable = false, length = 60)
+    private String eventType;
+    @Column(nullable = false, length = 120)
+    private String routingKey;
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Long createdAt;
+    private Long sentAt;
+}
@@ -0,0 +1,54 @@
+package org.example.orderservice.event;
+
+import static org.example.orderservice.config.OrderEventConfig.ORDER_CREATED_ROUTING_KEY;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.entity.OutboxEntity;
+import org.example.orderservice.repository.OutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 이벤트를 outbox 테이블에 기록한다. 호출하는 쪽의 트랜잭션 안에서만 사용할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(OrderEntity order, boolean stockReserved) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        event.setOrderId(order.getOrderId());
+        event.setUserId(order.getUserId());
+        event.setProductId(order.getProductId());
+        event.setQty(order.getQty());
+        event.setUnitPrice(order.getUnitPrice());
+        event.setTotalPrice(order.getTotalPrice());
+        event.setStockReserved(stockReserved);
+
+        OutboxEntity outbox = new OutboxEntity();
+        outbox.setMessageKey(ORDER_CREATED + ":" + order.getOrderId());
+        outbox.setEventType(ORDER_CREATED);
+        outbox.setRoutingKey(ORDER_CREATED_ROUTING_KEY);
+        outbox.setPayload(toJson(event));
+        outbox.setCreatedAt(System.currentTimeMillis());
+        outboxRepository.save(outbox);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.orderservice.event;
+
+import static org.example.orderservice.config.OrderEventConfig.ORDER_EVENTS_EXCHANGE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.entity.OutboxEntity;
+import org.example.orderservice.repository.OutboxRepository;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * outbox 테이블의 미발행 이벤트를 배치로 읽어 RabbitMQ 로 발행한다.
+ * - 한 배치의 메시지를 모두 보낸 뒤 publisher confirm 을 한꺼번에 기다린다. (메시지마다 왕복을 기다리지 않음)
+ * - ack 를 받은 행만 sentAt 을 기록하고, nack/timeout 된 행은 다음 주기에 다시 보낸다.
+ * - 재발행될 수 있으므로(at-least-once) 메시지에는 orderId 기반 messageId 를 붙인다.
+ * 메트릭: outbox.relay.published / outbox.relay.failed (발행 건수), outbox.relay.lag (가장 오래된 미발행 이벤트의 대기 시간)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final long retentionMillis;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxRepository outboxRepository, RabbitTemplate rabbitTemplate, Environment env,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = env.getProperty("outbox.relay.batch-size", Integer.class, 100);
+        this.confirmTimeoutMillis = env.getProperty("outbox.relay.confirm-timeout-millis", Long.class, 5000L);
+        this.retentionMillis = env.getProperty("outbox.retention-millis", Long.class, 86_400_000L);
+
+        this.publishedCounter = meterRegistry.counter("outbox.relay.published");
+        this.failedCounter = meterRegistry.counter("outbox.relay.failed");
+        this.batchTimer = meterRegistry.timer("outbox.relay.batch");
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 가득 찬 배치를 읽은 동안은 쉬지 않고 이어서 발행한다.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-millis:100}")
+    public void relay() {
+        int published;
+        do {
+            Timer.Sample sample = Timer.start();
+            published = relayBatch();
+            sample.stop(batchTimer);
+        } while (published == batchSize);
+        updateLag();
+    }
+
+    /**
+     * @return 읽은 행의 수
+     */
+    int relayBatch() {
+        List<OutboxEntity> batch = outboxRepository.findBySentAtIsNullOrderByIdAsc(PageRequest.ofSize(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        for (OutboxEntity outbox : batch) {
+            CorrelationData correlationData = new CorrelationData(outbox.getMessageKey());
+            try {
+                rabbitTemplate.send(ORDER_EVENTS_EXCHANGE, outbox.getRoutingKey(), toMessage(outbox), correlationData);
+            } catch (AmqpException e) {
+                log.warn("outbox publish failed: {}", outbox.getMessageKey(), e);
+                correlationData.getFuture().completeExceptionally(e);
+            }
+            confirms.add(correlationData);
+        }
+
+        long deadline = System.currentTimeMillis() + confirmTimeoutMillis;
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (isAcked(confirms.get(i), deadline)) {
+                sentIds.add(batch.get(i).getId());
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.markSent(sentIds, System.currentTimeMillis());
+        }
+        publishedCounter.increment(sentIds.size());
+        failedCounter.increment(batch.size() - sentIds.size());
+        return sentIds.size() == batch.size() ? batch.size() : 0;
+    }
+
+    /**
+     * 발행이 끝난 지 outbox.retention-millis 가 지난 행은 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-millis:60000}")
+    public void purge() {
+        int deleted = outboxRepository.deleteSentBefore(System.currentTimeMillis() - retentionMillis);
+        if (deleted > 0) {
+            log.info("outbox purged: {} rows", deleted);
+        }
+    }
+
+    long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    private void updateLag() {
+        OutboxEntity oldest = outboxRepository.findFirstBySentAtIsNullOrderByIdAsc();
+        lagMillis.set(oldest == null ? 0L : System.currentTimeMillis() - oldest.getCreatedAt());
+    }
+
+    private boolean isAcked(CorrelationData correlationData, long deadline) {
+        try {
+            long waitMillis = Math.max(0L, deadline - System.currentTimeMillis());
+            CorrelationData.Confirm confirm = correlationData.getFuture().get(waitMillis, TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("outbox publish nacked: {} ({})", correlationData.getId(), confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static Message toMessage(OutboxEntity outbox) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(outbox.getMessageKey());
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        // 소비자는 __TypeId__ 의 논리 이름으로 자신의 이벤트 클래스를 찾는다.
+        properties.setHeader("__TypeId__", outbox.getEventType());
+        return new Message(outbox.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
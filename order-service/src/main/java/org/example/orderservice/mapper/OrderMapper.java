@@ -0,0 +1,82 @@
+package org.example.orderservice.mapper;
+
+import org.example.orderservice.dto.OrderDto;
+import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.vo.RequestOrder;
+import org.example.orderservice.vo.ResponseOrder;
+import org.springframework.stereotype.Component;
+
+/**
+ * RequestOrder / OrderDto / OrderEntity / ResponseOrder 간 변환
+ * 필드를 직접 복사하므로 호출마다 reflection 이나 추가 객체 생성이 없다.
+ * createOrder 경로는 기존 STRICT 매핑, 조회 경로는 기존 STANDARD 매핑과 같은 필드를 채운다.
+ */
+@Component
+public class OrderMapper {
+
+    public OrderDto toOrderDto(RequestOrder requestOrder) {
+        if (requestOrder == null) {
+            return null;
+        }
+        OrderDto orderDto = new OrderDto();
+        orderDto.setProductId(requestOrder.getProductId());
+        orderDto.setQty(requestOrder.getQty());
+        orderDto.setUnitPrice(requestOrder.getUnitPrice());
+        return orderDto;
+    }
+
+    public OrderDto toOrderDto(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+        OrderDto orderDto = new OrderDto();
+        orderDto.setProductId(orderEntity.getProductId());
+        orderDto.setQty(orderEntity.getQty());
+        orderDto.setUnitPrice(orderEntity.getUnitPrice());
+        orderDto.setTotalPrice(orderEntity.getTotalPrice());
+        orderDto.setOrderId(orderEntity.getOrderId());
+        orderDto.setUserId(orderEntity.getUserId());
+        return orderDto;
+    }
+
+    public OrderEntity toOrderEntity(OrderDto orderDto) {
+        if (orderDto == null) {
+            return null;
+        }
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setProductId(orderDto.getProductId());
+        orderEntity.setQty(orderDto.getQty());
+        orderEntity.setUnitPrice(orderDto.getUnitPrice());
+        orderEntity.setTotalPrice(orderDto.getTotalPrice());
+        orderEntity.setOrderId(orderDto.getOrderId());
+        orderEntity.setUserId(orderDto.getUserId());
+        return orderEntity;
+    }
+
+    public ResponseOrder toResponseOrder(OrderDto orderDto) {
+        if (orderDto == null) {
+            return null;
+        }
+        ResponseOrder responseOrder = new ResponseOrder();
+        responseOrder.setProductId(orderDto.getProductId());
+        responseOrder.setQty(orderDto.getQty());
+        responseOrder.setUnitPrice(orderDto.getUnitPrice());
+        responseOrder.setTotalPrice(orderDto.getTotalPrice());
+        responseOrder.setOrderId(orderDto.getOrderId());
+        return responseOrder;
+    }
+
+    public ResponseOrder toResponseOrder(OrderEntity orderEntity) {
+        if (orderEntity == null) {
+            return null;
+        }
+        ResponseOrder responseOrder = new ResponseOrder();
+        responseOrder.setProductId(orderEntity.getProductId());
+        responseOrder.setQty(orderEntity.getQty());
+        responseOrder.setUnitPrice(orderEntity.getUnitPrice());
+        responseOrder.setTotalPrice(orderEntity.getTotalPrice());
+        responseOrder.setCreatedAt(orderEntity.getCreatedAt());
+        responseOrder.setOrderId(orderEntity.getOrderId());
+        return responseOrder;
+    }
+}
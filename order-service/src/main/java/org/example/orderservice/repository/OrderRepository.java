@@ -1,6 +1,14 @@
 package org.example.orderservice.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import org.example.orderservice.entity.OrderEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +16,12 @@ import org.springframework.stereotype.Repository;
 public interface OrderRepository extends CrudRepository<OrderEntity, Long> {
     OrderEntity findByOrderId(String orderId);
     Iterable<OrderEntity> findByUserId(String userId);
+
+    List<OrderEntity> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<OrderEntity> streamByUserIdOrderByIdAsc(String userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<OrderEntity> streamByUserIdInOrderByUserIdAscIdAsc(Collection<String> userIds);
 }
@@ -0,0 +1,29 @@
+package org.example.orderservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.example.orderservice.entity.OutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OutboxRepository extends CrudRepository<OutboxEntity, Long> {
+    List<OutboxEntity> findBySentAtIsNullOrderByIdAsc(Pageable pageable);
+
+    OutboxEntity findFirstBySentAtIsNullOrderByIdAsc();
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEntity o set o.sentAt = :sentAt where o.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Long sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEntity o where o.sentAt < :sentBefore")
+    int deleteSentBefore(@Param("sentBefore") Long sentBefore);
+}
@@ -1,10 +1,19 @@
 package org.example.orderservice.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.example.orderservice.dto.BulkOrderResult;
 import org.example.orderservice.dto.OrderDto;
 import org.example.orderservice.entity.OrderEntity;
 
 public interface OrderService {
     OrderDto createOrder(OrderDto orderDetail);
+    List<BulkOrderResult> createOrders(String userId, List<OrderDto> orders, int firstLine);
     OrderDto getOrderByOrderId(String orderId);
     Iterable<OrderEntity> getOrdersByUserId(String userId);
+    List<OrderEntity> getOrdersByUserIdAfter(String userId, Long afterId, int size);
+    void streamOrdersByUserId(String userId, Consumer<OrderEntity> consumer);
+    void streamOrdersByUserIds(Collection<String> userIds, BiConsumer<String, List<OrderEntity>> consumer);
 }
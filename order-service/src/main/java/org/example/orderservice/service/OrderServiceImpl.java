@@ -1,15 +1,33 @@
 package org.example.orderservice.service;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.orderservice.client.CatalogServiceClient;
+import org.example.orderservice.dto.BulkOrderResult;
 import org.example.orderservice.dto.OrderDto;
 import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.event.OrderOutbox;
+import org.example.orderservice.mapper.OrderMapper;
 import org.example.orderservice.repository.OrderRepository;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 @Data
 @Slf4j
@@ -18,28 +36,213 @@ import org.springframework.stereotype.Service;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final EntityManager entityManager;
+    private final CatalogServiceClient catalogServiceClient;
+    private final OrderOutbox orderOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment env;
 
+    /**
+     * catalog_service.reserve-stock 이 켜져 있으면 catalog-service 에 재고를 예약하고 확정(commit)한 다음 주문을 저장한다.
+     * - 확정을 끝내 확인하지 못하면 예약을 취소하고 주문을 503 으로 실패시킨다. (확정되지 않은 예약이 TTL 로 풀리면서 재고가 초과 판매되지 않도록)
+     * - 확정 후 주문 저장에 실패하면 예약을 취소해 재고를 되돌린다.
+     * 꺼져 있으면 주문만 저장하고, 재고 차감은 OrderCreated 이벤트를 받은 catalog-service 가 비동기로 처리한다.
+     * OrderCreated 이벤트는 주문과 같은 트랜잭션에서 outbox 에 기록되고, 발행은 OutboxRelay 가 맡는다.
+     * 원격 호출(예약/확정/취소)은 DB 트랜잭션 밖에서 수행한다.
+     */
     @Override
     public OrderDto createOrder(OrderDto orderDetail) {
         orderDetail.setOrderId(UUID.randomUUID().toString());
         orderDetail.setTotalPrice(orderDetail.getUnitPrice() * orderDetail.getQty());
 
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        OrderEntity orderEntity = mapper.map(orderDetail, OrderEntity.class);
+        OrderEntity orderEntity = orderMapper.toOrderEntity(orderDetail);
 
-        orderRepository.save(orderEntity);
+        if (!env.getProperty("catalog_service.reserve-stock", Boolean.class, true)) {
+            saveWithOutbox(orderEntity, false);
+            return orderMapper.toOrderDto(orderEntity);
+        }
 
-        return mapper.map(orderEntity, OrderDto.class);
+        String reservationId = catalogServiceClient.reserve(orderDetail.getProductId(), orderDetail.getQty());
+        if (!catalogServiceClient.commit(reservationId)) {
+            // 확정 요청이 catalog-service 에 반영된 뒤 응답만 잃어버렸을 수도 있으므로 확정된 예약도 취소한다.
+            catalogServiceClient.release(reservationId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Stock reservation not confirmed: " + orderDetail.getProductId());
+        }
+        try {
+            saveWithOutbox(orderEntity, true);
+        } catch (RuntimeException e) {
+            catalogServiceClient.release(reservationId);
+            throw e;
+        }
+
+        return orderMapper.toOrderDto(orderEntity);
+    }
+
+    private void saveWithOutbox(OrderEntity orderEntity, boolean stockReserved) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.save(orderEntity);
+            orderOutbox.orderCreated(orderEntity, stockReserved);
+        });
+    }
+
+    /**
+     * 대량 주문 등록: 줄마다 검증/가격 계산 후 order.bulk.chunk-size 개씩 한 트랜잭션으로 저장한다.
+     * 저장은 hibernate.jdbc.batch_size 단위의 JDBC batch insert 로 나가고, 재고 차감은 OrderCreated 이벤트로 처리된다.
+     * 어떤 줄 때문에 chunk 가 실패하면 그 chunk 만 한 줄씩 다시 저장해 실패한 줄을 골라낸다.
+     * 줄마다 재고를 예약하지 않으므로 재고가 부족해도 주문이 저장된다. catalog_service.reserve-stock 이 켜져 있으면
+     * order.bulk.allow-unreserved 로 명시적으로 허용한 경우에만 받고, 아니면 409 로 거절한다.
+     *
+     * @param orders    null 항목은 읽을 수 없는 줄로 처리한다.
+     * @param firstLine orders 첫 항목의 줄 번호 (결과에 그대로 쓰인다)
+     */
+    @Override
+    public List<BulkOrderResult> createOrders(String userId, List<OrderDto> orders, int firstLine) {
+        if (env.getProperty("catalog_service.reserve-stock", Boolean.class, true)
+                && !env.getProperty("order.bulk.allow-unreserved", Boolean.class, false)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Bulk orders are not stock-reserved (set order.bulk.allow-unreserved to accept them)");
+        }
+        int chunkSize = env.getProperty("order.bulk.chunk-size", Integer.class, 500);
+        List<BulkOrderResult> results = new ArrayList<>(orders.size());
+        List<OrderEntity> chunk = new ArrayList<>(chunkSize);
+        List<BulkOrderResult> chunkResults = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < orders.size(); i++) {
+            int line = firstLine + i;
+            OrderDto order = orders.get(i);
+            String error = validate(order);
+            if (error != null) {
+                results.add(BulkOrderResult.invalid(line, error));
+                continue;
+            }
+
+            order.setUserId(userId);
+            order.setOrderId(UUID.randomUUID().toString());
+            order.setTotalPrice(order.getUnitPrice() * order.getQty());
+            OrderEntity orderEntity = orderMapper.toOrderEntity(order);
+
+            BulkOrderResult result = BulkOrderResult.created(line, order.getOrderId());
+            results.add(result);
+            chunk.add(orderEntity);
+            chunkResults.add(result);
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, chunkResults);
+                chunk.clear();
+                chunkResults.clear();
+            }
+        }
+        saveChunk(chunk, chunkResults);
+        return results;
+    }
+
+    private String validate(OrderDto order) {
+        if (order == null) {
+            return "malformed line";
+        }
+        if (order.getProductId() == null || order.getProductId().isBlank() || order.getProductId().length() > 120) {
+            return "productId is required (max 120)";
+        }
+        if (order.getQty() == null || order.getQty() <= 0) {
+            return "qty must be positive";
+        }
+        if (order.getUnitPrice() == null || order.getUnitPrice() < 0) {
+            return "unitPrice must not be negative";
+        }
+        if ((long) order.getUnitPrice() * order.getQty() > Integer.MAX_VALUE) {
+            return "totalPrice overflow";
+        }
+        return null;
+    }
+
+    private void saveChunk(List<OrderEntity> chunk, List<BulkOrderResult> chunkResults) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> chunk.forEach(orderEntity -> {
+                orderRepository.save(orderEntity);
+                orderOutbox.orderCreated(orderEntity, false);
+            }));
+        } catch (DataAccessException e) {
+            log.warn("bulk chunk failed, retrying line by line: {}", e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                OrderEntity orderEntity = chunk.get(i);
+                // 롤백된 chunk 에서 할당된 id 는 버리고 새로 저장한다.
+                orderEntity.setId(null);
+                try {
+                    saveWithOutbox(orderEntity, false);
+                } catch (DataAccessException lineError) {
+                    log.warn("bulk line {} failed: {}", chunkResults.get(i).getLine(),
+                            lineError.getMostSpecificCause().getMessage());
+                    chunkResults.get(i).fail(BulkOrderResult.SAVE_FAILED);
+                }
+            }
+        }
     }
 
     @Override
     public OrderDto getOrderByOrderId(String orderId) {
-        return new ModelMapper().map(orderRepository.findByOrderId(orderId), OrderDto.class);
+        return orderMapper.toOrderDto(orderRepository.findByOrderId(orderId));
     }
 
     @Override
     public Iterable<OrderEntity> getOrdersByUserId(String userId) {
         return orderRepository.findByUserId(userId);
     }
+
+    /**
+     * id 기준 keyset 페이지 조회: 해당 사용자의 주문 중 afterId 보다 큰 id 를 size 개까지 반환한다.
+     */
+    @Override
+    public List<OrderEntity> getOrdersByUserIdAfter(String userId, Long afterId, int size) {
+        return orderRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * 사용자의 주문을 한 건씩 읽어 consumer 로 넘기고 곧바로 영속성 컨텍스트에서 분리한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrdersByUserId(String userId, Consumer<OrderEntity> consumer) {
+        try (Stream<OrderEntity> orders = orderRepository.streamByUserIdOrderByIdAsc(userId)) {
+            orders.forEach(order -> {
+                consumer.accept(order);
+                entityManager.detach(order);
+            });
+        }
+    }
+
+    /**
+     * 여러 사용자의 주문을 IN 쿼리 한 번으로 userId 순으로 읽고, 한 사용자의 주문이 모일 때마다 consumer 로 넘긴다.
+     * 메모리에는 사용자 한 명의 주문만 남는다. 주문이 없는 사용자는 마지막에 빈 목록으로 넘긴다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOrdersByUserIds(Collection<String> userIds, BiConsumer<String, List<OrderEntity>> consumer) {
+        Set<String> remaining = new LinkedHashSet<>(userIds);
+        List<OrderEntity> group = new ArrayList<>();
+        try (Stream<OrderEntity> orders = orderRepository.streamByUserIdInOrderByUserIdAscIdAsc(userIds)) {
+            orders.forEach(order -> {
+                if (!group.isEmpty() && !group.get(0).getUserId().equals(order.getUserId())) {
+                    acceptGroup(group, remaining, consumer);
+                }
+                group.add(order);
+            });
+        }
+        if (!group.isEmpty()) {
+            acceptGroup(group, remaining, consumer);
+        }
+        remaining.forEach(userId -> consumer.accept(userId, List.of()));
+    }
+
+    private void acceptGroup(List<OrderEntity> group, Set<String> remaining,
+                             BiConsumer<String, List<OrderEntity>> consumer) {
+        String userId = group.get(0).getUserId();
+        remaining.remove(userId);
+        consumer.accept(userId, group);
+        group.forEach(entityManager::detach);
+        group.clear();
+    }
 }
@@ -0,0 +1,13 @@
+package org.example.orderservice.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestReservation {
+    private String productId;
+    private Integer qty;
+}
@@ -0,0 +1,10 @@
+package org.example.orderservice.vo;
+
+import lombok.Data;
+
+@Data
+public class ResponseReservation {
+    private String reservationId;
+    private String productId;
+    private Integer qty;
+}
@@ -0,0 +1,13 @@
+package org.example.orderservice.vo;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * POST /orders/by-users 응답의 한 줄 (사용자 한 명의 주문 목록)
+ */
+@Data
+public class ResponseUserOrders {
+    private String userId;
+    private List<ResponseOrder> orders;
+}
@@ -0,0 +1,100 @@
+package org.example.orderservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "outbox.relay.poll-interval-millis=3600000",
+        "order_service.batch.max-size=2"
+})
+@AutoConfigureMockMvc
+class OrderControllerTest {
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsOrdersGroupedByUser() throws Exception {
+        String withOrders = "user-" + UUID.randomUUID();
+        String withoutOrders = "user-" + UUID.randomUUID();
+        saveOrder(withOrders);
+        saveOrder(withOrders);
+
+        MvcResult result = mockMvc.perform(post("/order-service/orders/by-users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + withOrders + "\", \"" + withoutOrders + "\"]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        Map<String, Integer> orderCounts = new HashMap<>();
+        for (String line : body.split("\n")) {
+            JsonNode userOrders = objectMapper.readTree(line);
+            orderCounts.put(userOrders.get("userId").asText(), userOrders.get("orders").size());
+        }
+        assertThat(orderCounts).containsOnly(entry(withOrders, 2), entry(withoutOrders, 0));
+    }
+
+    @Test
+    void rejectsMoreUsersThanBatchMaxSize() throws Exception {
+        mockMvc.perform(post("/order-service/orders/by-users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"user-1\", \"user-2\", \"user-3\"]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsUnreservedBulkOrdersWhileStockIsReserved() throws Exception {
+        mockMvc.perform(post("/order-service/user-1/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":\"CATALOG-001\",\"qty\":1,\"unitPrice\":1000}]"))
+                .andExpect(status().isConflict());
+    }
+
+    private void saveOrder(String userId) {
+        OrderEntity order = new OrderEntity();
+        order.setOrderId(UUID.randomUUID().toString());
+        order.setUserId(userId);
+        order.setProductId("CATALOG-001");
+        order.setQty(1);
+        order.setUnitPrice(1000);
+        order.setTotalPrice(1000);
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.orderservice.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+import org.example.orderservice.dto.OrderDto;
+import org.example.orderservice.entity.OutboxEntity;
+import org.example.orderservice.repository.OutboxRepository;
+import org.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+/**
+ * broker 대신 RabbitTemplate 을 mock 으로 두고, publisher confirm 을 직접 완료시킨다.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "catalog_service.reserve-stock=false",
+        "outbox.relay.poll-interval-millis=3600000",
+        "outbox.relay.confirm-timeout-millis=200"
+})
+class OutboxRelayTest {
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @BeforeEach
+    void drainOutbox() {
+        confirmWith(true);
+        outboxRelay.relay();
+        reset(rabbitTemplate);
+    }
+
+    @Test
+    void writesOutboxWithOrderAndMarksSentOnAck() {
+        confirmWith(true);
+        OrderDto order = createOrder();
+
+        OutboxEntity outbox = findByOrderId(order.getOrderId());
+        assertThat(outbox.getSentAt()).isNull();
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("order.events"), eq("order.created"), message.capture(),
+                any(CorrelationData.class));
+        assertThat(message.getValue().getMessageProperties().getMessageId())
+                .isEqualTo("OrderCreated:" + order.getOrderId());
+        assertThat(findByOrderId(order.getOrderId()).getSentAt()).isNotNull();
+        assertThat(outboxRelay.getLagMillis()).isZero();
+
+        outboxRelay.relay();
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void keepsRowUnsentOnNackAndRetries() {
+        confirmWith(false);
+        OrderDto order = createOrder();
+
+        outboxRelay.relay();
+        assertThat(findByOrderId(order.getOrderId()).getSentAt()).isNull();
+
+        confirmWith(true);
+        outboxRelay.relay();
+        assertThat(findByOrderId(order.getOrderId()).getSentAt()).isNotNull();
+    }
+
+    @Test
+    void unconfirmedPublishTimesOut() {
+        OrderDto order = createOrder();
+
+        outboxRelay.relay();
+
+        verify(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        assertThat(findByOrderId(order.getOrderId()).getSentAt()).isNull();
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private OrderDto createOrder() {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setUserId("user-1");
+        orderDto.setProductId("OUTBOX-" + UUID.randomUUID());
+        orderDto.setQty(2);
+        orderDto.setUnitPrice(1000);
+        return orderService.createOrder(orderDto);
+    }
+
+    private OutboxEntity findByOrderId(String orderId) {
+        for (OutboxEntity outbox : outboxRepository.findAll()) {
+            if (outbox.getMessageKey().equals("OrderCreated:" + orderId)) {
+                return outbox;
+            }
+        }
+        throw new AssertionError("outbox row not found: " + orderId);
+    }
+}
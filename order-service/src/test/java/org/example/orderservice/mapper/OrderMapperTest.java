@@ -0,0 +1,102 @@
+package org.example.orderservice.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.example.orderservice.dto.OrderDto;
+import org.example.orderservice.entity.OrderEntity;
+import org.example.orderservice.vo.RequestOrder;
+import org.example.orderservice.vo.ResponseOrder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+/**
+ * OrderMapper 결과가 기존 ModelMapper 매핑 결과와 같은지 확인하고, 목록 변환 비용을 비교한다.
+ */
+class OrderMapperTest {
+
+    private static final int ORDERS = 1_000;
+    private static final int ROUNDS = 50;
+
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    @Test
+    void sameResultAsStrictModelMapper() {
+        ModelMapper strict = new ModelMapper();
+        strict.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        RequestOrder requestOrder = new RequestOrder();
+        requestOrder.setProductId("CATALOG-001");
+        requestOrder.setQty(3);
+        requestOrder.setUnitPrice(1500);
+        assertThat(orderMapper.toOrderDto(requestOrder)).isEqualTo(strict.map(requestOrder, OrderDto.class));
+
+        OrderDto orderDto = orderMapper.toOrderDto(requestOrder);
+        orderDto.setUserId("user-id");
+        orderDto.setOrderId("order-id");
+        orderDto.setTotalPrice(4500);
+        assertThat(orderMapper.toOrderEntity(orderDto)).isEqualTo(strict.map(orderDto, OrderEntity.class));
+        assertThat(orderMapper.toResponseOrder(orderDto)).isEqualTo(strict.map(orderDto, ResponseOrder.class));
+
+        OrderEntity orderEntity = orderMapper.toOrderEntity(orderDto);
+        assertThat(orderMapper.toOrderDto(orderEntity)).isEqualTo(strict.map(orderEntity, OrderDto.class));
+    }
+
+    @Test
+    void sameResultAsStandardModelMapper() {
+        OrderEntity orderEntity = order(1);
+
+        assertThat(orderMapper.toOrderDto(orderEntity)).isEqualTo(new ModelMapper().map(orderEntity, OrderDto.class));
+        assertThat(orderMapper.toResponseOrder(orderEntity))
+                .isEqualTo(new ModelMapper().map(orderEntity, ResponseOrder.class));
+    }
+
+    /**
+     * getOrders 목록 변환: 요소마다 new ModelMapper() 하던 방식과 OrderMapper 비교 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void listMappingCost() {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(i));
+        }
+
+        long modelMapper = measure(() -> {
+            List<ResponseOrder> responseOrders = new ArrayList<>();
+            orders.forEach(v -> responseOrders.add(new ModelMapper().map(v, ResponseOrder.class)));
+        });
+        long compiled = measure(() -> {
+            List<ResponseOrder> responseOrders = new ArrayList<>();
+            orders.forEach(v -> responseOrders.add(orderMapper.toResponseOrder(v)));
+        });
+
+        assertThat(compiled).isLessThan(modelMapper);
+    }
+
+    private static long measure(Runnable op) {
+        op.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private static OrderEntity order(int i) {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId((long) i);
+        orderEntity.setProductId("CATALOG-" + i);
+        orderEntity.setQty(2);
+        orderEntity.setUnitPrice(1000);
+        orderEntity.setTotalPrice(2000);
+        orderEntity.setUserId("user-id");
+        orderEntity.setOrderId("order-" + i);
+        orderEntity.setCreatedAt(new Date());
+        return orderEntity;
+    }
+}
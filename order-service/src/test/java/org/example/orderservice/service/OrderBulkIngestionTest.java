@@ -0,0 +1,106 @@
+package org.example.orderservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.example.orderservice.dto.BulkOrderResult;
+import org.example.orderservice.dto.OrderDto;
+import org.example.orderservice.event.OrderOutbox;
+import org.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "catalog_service.reserve-stock=false",
+        "outbox.relay.poll-interval-millis=3600000",
+        "order.bulk.chunk-size=100"
+})
+class OrderBulkIngestionTest {
+
+    private static final int ROWS = 5_000;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @SpyBean
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void reportsResultPerLine() {
+        // 저장 단계에서 실패하는 줄: 이 상품의 outbox 기록이 DB 오류로 실패한다.
+        String rejected = "BULK-" + UUID.randomUUID();
+        doThrow(new DataIntegrityViolationException("constraint violated"))
+                .when(orderOutbox).orderCreated(argThat(order -> rejected.equals(order.getProductId())), anyBoolean());
+        String sameProduct = "BULK-" + UUID.randomUUID();
+        List<OrderDto> orders = Arrays.asList(
+                order(sameProduct, 1, 1000),
+                order("BULK-" + UUID.randomUUID(), 0, 1000),
+                null,
+                order(rejected, 2, 1000),
+                order(sameProduct, 3, 500));
+
+        List<BulkOrderResult> results = orderService.createOrders("bulk-user", orders, 1);
+
+        assertThat(results).extracting(BulkOrderResult::getLine).containsExactly(1, 2, 3, 4, 5);
+        assertThat(results).extracting(BulkOrderResult::getStatus).containsExactly(
+                BulkOrderResult.CREATED, BulkOrderResult.INVALID, BulkOrderResult.INVALID,
+                BulkOrderResult.FAILED, BulkOrderResult.CREATED);
+        assertThat(results.get(3).getError()).isEqualTo(BulkOrderResult.SAVE_FAILED);
+        // 같은 상품의 주문은 여러 건 저장된다.
+        assertThat(orderRepository.findByOrderId(results.get(0).getOrderId())).isNotNull();
+        assertThat(orderRepository.findByOrderId(results.get(4).getOrderId()).getTotalPrice()).isEqualTo(1500);
+    }
+
+    /**
+     * 단건 경로와 대량 경로의 초당 저장 건수 비교 (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void rowsPerSecondComparedWithSingleOrderPath() {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            orderService.createOrder(order("SINGLE-" + UUID.randomUUID(), 1, 1000));
+        }
+        double singleRowsPerSec = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        List<OrderDto> orders = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            orders.add(order("BULK-" + UUID.randomUUID(), 1, 1000));
+        }
+        start = System.nanoTime();
+        List<BulkOrderResult> results = orderService.createOrders("bulk-user", orders, 1);
+        double bulkRowsPerSec = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        assertThat(results).allMatch(v -> BulkOrderResult.CREATED.equals(v.getStatus()));
+        assertThat(bulkRowsPerSec).isGreaterThan(singleRowsPerSec);
+    }
+
+    private static OrderDto order(String productId, int qty, int unitPrice) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setUserId("bulk-user");
+        orderDto.setProductId(productId);
+        orderDto.setQty(qty);
+        orderDto.setUnitPrice(unitPrice);
+        return orderDto;
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.userservice;
 
+import com.example.userservice.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
@@ -16,14 +23,32 @@ public class UserServiceApplication {
         SpringApplication.run(UserServiceApplication.class, args);
     }
 
+    /**
+     * BCrypt 해시/검증은 Tomcat 요청 스레드가 아닌 전용 스레드 풀(password.hash.*)에서 실행한다.
+     */
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(Environment env, MeterRegistry meterRegistry){
+        BCryptPasswordEncoder bCryptPasswordEncoder =
+                new BCryptPasswordEncoder(env.getProperty("password.bcrypt.strength", Integer.class, 10));
+        return new BoundedPasswordEncoder(bCryptPasswordEncoder,
+                env.getProperty("password.hash.threads", Integer.class, Runtime.getRuntime().availableProcessors()),
+                env.getProperty("password.hash.queue-capacity", Integer.class, 64),
+                env.getProperty("password.hash.timeout-millis", Long.class, 2000L),
+                meterRegistry);
     }
 
+    /**
+     * RestTemplateBuilder 로 만들어야 요청마다 client span 이 생기고 traceparent 헤더가 전파된다.
+     */
     @Bean
     @LoadBalanced
-    public RestTemplate getRestTemplate(){
-        return new RestTemplate();
+    public RestTemplate getRestTemplate(RestTemplateBuilder restTemplateBuilder){
+        return restTemplateBuilder.build();
+    }
+
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObservationRegistry observationRegistry){
+        return WebClient.builder().observationRegistry(observationRegistry);
     }
 }
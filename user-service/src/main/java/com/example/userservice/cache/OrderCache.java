@@ -0,0 +1,277 @@
+package com.example.userservice.cache;
+
+import com.example.userservice.vo.ResponseOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자별로 마지막으로 정상 조회한 주문 목록(last-known-good)을 보관하는 LRU 캐시
+ * - fresh-ttl-millis 안의 항목은 order-service 를 호출하지 않고 그대로 쓴다. (FRESH)
+ * - 그 뒤 stale-while-revalidate-millis 동안은 보관된 목록을 쓰면서 백그라운드로 갱신한다. (STALE)
+ * - order-service 조회가 degraded 로 끝나면 stale-if-error-millis 안의 항목을 대신 쓴다. (fallback)
+ * - 주문 생성 이벤트로 무효화된 사용자는 무효화 이전에 시작된 조회 결과를 저장하지 않는다.
+ * 메트릭: order_cache.requests (result=fresh|stale|miss|fallback), order_cache.hit.ratio,
+ *        order_cache.staleness (FRESH 가 아닌 항목을 쓸 때의 age), order_cache.entries, order_cache.estimated.bytes
+ */
+@Component
+public class OrderCache {
+
+    public enum State {
+        FRESH, STALE, MISS
+    }
+
+    private static final Lookup MISS = new Lookup(State.MISS, null);
+    private static final int RECENT_INVALIDATIONS = 1024;
+
+    // 항목/주문당 대략적인 힙 사용량 (객체 헤더, Date, Integer, 문자열 헤더)
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long ORDER_OVERHEAD_BYTES = 200;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long freshTtlMillis;
+    private final long staleWhileRevalidateMillis;
+    private final long staleIfErrorMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 캐시에 없는 사용자도 조회가 진행 중일 수 있으므로 최근 무효화 시점을 따로 기억한다.
+    private final LinkedHashMap<String, Long> recentInvalidations = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private long generation;
+    private long estimatedBytes;
+
+    private final Counter freshCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter fallbackCounter;
+    private final Timer stalenessTimer;
+
+    @Autowired
+    public OrderCache(Environment env, MeterRegistry meterRegistry) {
+        this(env.getProperty("order_service.cache.enabled", Boolean.class, false),
+                env.getProperty("order_service.cache.max-size", Integer.class, 10_000),
+                env.getProperty("order_service.cache.fresh-ttl-millis", Long.class, 5_000L),
+                env.getProperty("order_service.cache.stale-while-revalidate-millis", Long.class, 30_000L),
+                env.getProperty("order_service.cache.stale-if-error-millis", Long.class, 600_000L),
+                System::currentTimeMillis, meterRegistry);
+    }
+
+    OrderCache(boolean enabled, int maxSize, long freshTtlMillis, long staleWhileRevalidateMillis,
+               long staleIfErrorMillis, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.enabled = enabled && maxSize > 0;
+        this.maxSize = maxSize;
+        this.freshTtlMillis = freshTtlMillis;
+        this.staleWhileRevalidateMillis = staleWhileRevalidateMillis;
+        this.staleIfErrorMillis = staleIfErrorMillis;
+        this.clock = clock;
+
+        this.freshCounter = meterRegistry.counter("order_cache.requests", "result", "fresh");
+        this.staleCounter = meterRegistry.counter("order_cache.requests", "result", "stale");
+        this.missCounter = meterRegistry.counter("order_cache.requests", "result", "miss");
+        this.fallbackCounter = meterRegistry.counter("order_cache.requests", "result", "fallback");
+        this.stalenessTimer = meterRegistry.timer("order_cache.staleness");
+        Gauge.builder("order_cache.hit.ratio", this, OrderCache::getHitRatio).register(meterRegistry);
+        Gauge.builder("order_cache.entries", this, OrderCache::size).register(meterRegistry);
+        Gauge.builder("order_cache.estimated.bytes", this, OrderCache::getEstimatedBytes).register(meterRegistry);
+    }
+
+    public Lookup lookup(String userId) {
+        if (!enabled) {
+            return MISS;
+        }
+        Entry entry = get(userId);
+        long age = entry == null ? Long.MAX_VALUE : clock.getAsLong() - entry.storedAt;
+        if (age < freshTtlMillis) {
+            freshCounter.increment();
+            return new Lookup(State.FRESH, entry.orders);
+        }
+        if (age < freshTtlMillis + staleWhileRevalidateMillis) {
+            staleCounter.increment();
+            stalenessTimer.record(age, TimeUnit.MILLISECONDS);
+            return new Lookup(State.STALE, entry.orders);
+        }
+        missCounter.increment();
+        return MISS;
+    }
+
+    /**
+     * order-service 조회가 실패했을 때 쓸 last-known-good 주문 목록, 없으면 null
+     */
+    public List<ResponseOrder> fallback(String userId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = get(userId);
+        if (entry == null) {
+            return null;
+        }
+        long age = clock.getAsLong() - entry.storedAt;
+        if (age >= staleIfErrorMillis) {
+            return null;
+        }
+        fallbackCounter.increment();
+        stalenessTimer.record(age, TimeUnit.MILLISECONDS);
+        return entry.orders;
+    }
+
+    /**
+     * order-service 조회를 시작하기 전에 호출해서, 조회가 끝난 뒤 {@link #put} 에 넘긴다.
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param startedAt 조회 시작 전에 받은 {@link #generation()}. 그 뒤에 무효화되었거나 더 최근 결과가 저장되었다면 저장하지 않는다.
+     */
+    public void put(String userId, List<ResponseOrder> orders, long startedAt) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            Long invalidatedAt = recentInvalidations.get(userId);
+            Entry existing = entries.get(userId);
+            if ((invalidatedAt != null && invalidatedAt > startedAt)
+                    || (existing != null && existing.generation > startedAt)) {
+                return;
+            }
+            remove(userId);
+            Entry entry = new Entry(List.copyOf(orders), clock.getAsLong(), ++generation);
+            entries.put(userId, entry);
+            estimatedBytes += entry.estimatedBytes;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                estimatedBytes -= eldest.next().estimatedBytes;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String userId) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            remove(userId);
+            recentInvalidations.put(userId, ++generation);
+            if (recentInvalidations.size() > RECENT_INVALIDATIONS) {
+                Iterator<Long> eldest = recentInvalidations.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 같은 사용자의 백그라운드 갱신이 이미 진행 중이면 false
+     */
+    public boolean tryStartRefresh(String userId) {
+        return refreshing.add(userId);
+    }
+
+    public void finishRefresh(String userId) {
+        refreshing.remove(userId);
+    }
+
+    public double getHitRatio() {
+        double hits = freshCounter.count() + staleCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    public long getEstimatedBytes() {
+        lock.lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry get(String userId) {
+        lock.lock();
+        try {
+            return entries.get(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String userId) {
+        Entry removed = entries.remove(userId);
+        if (removed != null) {
+            estimatedBytes -= removed.estimatedBytes;
+        }
+    }
+
+    private static long estimateBytes(List<ResponseOrder> orders) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (ResponseOrder order : orders) {
+            bytes += ORDER_OVERHEAD_BYTES + length(order.getOrderId()) + length(order.getProductId());
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Lookup {
+        private final State state;
+        private final List<ResponseOrder> orders;
+    }
+
+    private static final class Entry {
+        private final List<ResponseOrder> orders;
+        private final long storedAt;
+        private final long generation;
+        private final long estimatedBytes;
+
+        private Entry(List<ResponseOrder> orders, long storedAt, long generation) {
+            this.orders = orders;
+            this.storedAt = storedAt;
+            this.generation = generation;
+            this.estimatedBytes = estimateBytes(orders);
+        }
+    }
+}
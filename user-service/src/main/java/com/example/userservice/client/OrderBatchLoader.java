@@ -0,0 +1,135 @@
+package com.example.userservice.client;
+
+import com.example.userservice.vo.ResponseUserOrders;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * 짧은 시간(order_service.batch.window-millis) 동안 들어온 주문 조회 요청을 모아
+ * order-service 의 POST /order-service/orders/by-users 한 번으로 처리한다. (DataLoader 방식)
+ * - 같은 userId 에 대한 동시 요청은 하나의 결과를 공유한다.
+ * - 모인 요청이 order_service.batch.max-size 에 도달하면 window 를 기다리지 않고 바로 보낸다.
+ */
+@Slf4j
+@Component
+public class OrderBatchLoader {
+
+    private final WebClient webClient;
+    private final Environment env;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "order-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // pending map 교체와 flush 예약만 보호한다. 원격 호출(dispatch)은 lock 밖에서 한다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, CompletableFuture<OrderFetchResult>> pending = new HashMap<>();
+    private ScheduledFuture<?> flushTask;
+
+    public OrderBatchLoader(@LoadBalanced WebClient.Builder webClientBuilder, Environment env) {
+        this.webClient = webClientBuilder.build();
+        this.env = env;
+        this.windowMillis = env.getProperty("order_service.batch.window-millis", Long.class, 5L);
+        this.maxBatchSize = env.getProperty("order_service.batch.max-size", Integer.class, 100);
+    }
+
+    public CompletableFuture<OrderFetchResult> load(String userId) {
+        CompletableFuture<OrderFetchResult> future;
+        Map<String, CompletableFuture<OrderFetchResult>> batch = null;
+        lock.lock();
+        try {
+            future = pending.computeIfAbsent(userId, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (flushTask == null) {
+                flushTask = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<OrderFetchResult>> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<String, CompletableFuture<OrderFetchResult>> drain() {
+        Map<String, CompletableFuture<OrderFetchResult>> batch = pending;
+        pending = new HashMap<>();
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<OrderFetchResult>> batch) {
+        Duration timeout = Duration.ofMillis(env.getProperty("order_service.timeout-millis", Long.class, 2000L));
+        log.debug("order batch dispatch: {} users", batch.size());
+
+        // 줄 사이 간격이 아니라 호출 전체에 timeout 을 건다. (cache 로 모든 구독자가 같은 시점에 끝난다)
+        Mono<Long> deadline = Mono.delay(timeout).cache();
+
+        // 응답은 사용자마다 한 줄씩 오는 NDJSON 이므로, 줄이 도착하는 대로 해당 사용자의 요청을 완료한다.
+        webClient.post()
+                .uri(env.getProperty("order_service.batch-url"))
+                .bodyValue(new ArrayList<>(batch.keySet()))
+                .retrieve()
+                .bodyToFlux(ResponseUserOrders.class)
+                .timeout(deadline, userOrders -> deadline)
+                .subscribe(
+                        userOrders -> {
+                            CompletableFuture<OrderFetchResult> future = batch.get(userOrders.getUserId());
+                            if (future != null) {
+                                future.complete(new OrderFetchResult(userOrders.getOrders(), false));
+                            }
+                        },
+                        e -> {
+                            log.warn("order-service batch call failed: users={}, cause={}", batch.size(), e.toString());
+                            completeDegraded(batch);
+                        },
+                        () -> batch.values().forEach(future -> future.complete(new OrderFetchResult(List.of(), false))));
+    }
+
+    private static void completeDegraded(Map<String, CompletableFuture<OrderFetchResult>> batch) {
+        // 이미 완료된 future 에는 영향이 없다.
+        batch.values().forEach(future -> future.complete(new OrderFetchResult(List.of(), true)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.userservice.client;
+
+import com.example.userservice.vo.ResponseOrder;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * order-service 조회 결과
+ * degraded 가 true 이면 deadline 초과 또는 오류로 orders 가 일부만 채워졌거나 비어있다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class OrderFetchResult {
+    private final List<ResponseOrder> orders;
+    private final boolean degraded;
+}
@@ -0,0 +1,190 @@
+package com.example.userservice.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * order-service 호출용 circuit breaker
+ * - 최근 window-size 번의 호출 중 실패(오류 또는 deadline 초과) 비율이 failure-rate-threshold(%) 이상이면 OPEN 이 되어 호출을 바로 거절한다.
+ * - open-millis 가 지나면 HALF_OPEN 이 되어 probe 호출 하나만 통과시키고, 그 결과에 따라 CLOSED 또는 OPEN 으로 돌아간다.
+ * - permission 으로 상태가 바뀔 때마다 올라가는 세대 번호를 돌려준다. 결과를 알릴 때 세대가 다르면(이전 상태에서 시작된 호출) 무시하므로,
+ *   CLOSED 때 시작해 HALF_OPEN 중에 끝난 호출이 probe 로 처리되지 않는다.
+ * 메트릭: order_service.circuit.state (0=CLOSED, 1=OPEN, 2=HALF_OPEN), order_service.circuit.transitions (from, to)
+ */
+@Slf4j
+@Component
+public class OrderServiceCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public static final long NO_PERMISSION = -1L;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] failures;
+    private int position;
+    private int recordedCalls;
+    private int failedCalls;
+    private volatile State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    @Autowired
+    public OrderServiceCircuitBreaker(Environment env, MeterRegistry meterRegistry) {
+        this(env.getProperty("order_service.circuit-breaker.window-size", Integer.class, 20),
+                env.getProperty("order_service.circuit-breaker.minimum-calls", Integer.class, 10),
+                env.getProperty("order_service.circuit-breaker.failure-rate-threshold", Integer.class, 50),
+                env.getProperty("order_service.circuit-breaker.open-millis", Long.class, 5000L),
+                System::nanoTime, meterRegistry);
+    }
+
+    OrderServiceCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openMillis,
+                               LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), this.windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        this.failures = new boolean[this.windowSize];
+
+        Gauge.builder("order_service.circuit.state", this, v -> v.getState().ordinal())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 호출해도 되면 permission(세대 번호), 아니면 NO_PERMISSION.
+     *         permission 을 받았다면 결과를 반드시 onSuccess / onFailure / release 중 하나로 그 값과 함께 알려야 한다.
+     */
+    public long tryAcquirePermission() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return generation;
+                case OPEN:
+                    if (nanoClock.getAsLong() - openedAt < openNanos) {
+                        return NO_PERMISSION;
+                    }
+                    transitionTo(State.HALF_OPEN);
+                    probeInFlight = true;
+                    return generation;
+                default:
+                    if (probeInFlight) {
+                        return NO_PERMISSION;
+                    }
+                    probeInFlight = true;
+                    return generation;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(long permission) {
+        record(permission, false);
+    }
+
+    public void onFailure(long permission) {
+        record(permission, true);
+    }
+
+    /**
+     * 결과를 판단할 수 없이 끝난 호출(취소 등)의 permission 을 반납한다.
+     */
+    public void release(long permission) {
+        lock.lock();
+        try {
+            if (permission == generation && state == State.HALF_OPEN) {
+                probeInFlight = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void record(long permission, boolean failure) {
+        lock.lock();
+        try {
+            if (permission != generation) {
+                // 상태가 바뀌기 전에 시작된 호출의 결과는 무시한다.
+                return;
+            }
+            switch (state) {
+                case HALF_OPEN:
+                    probeInFlight = false;
+                    if (failure) {
+                        open();
+                    } else {
+                        resetWindow();
+                        transitionTo(State.CLOSED);
+                    }
+                    break;
+                case CLOSED:
+                    if (recordedCalls == windowSize) {
+                        failedCalls -= failures[position] ? 1 : 0;
+                    } else {
+                        recordedCalls++;
+                    }
+                    failures[position] = failure;
+                    failedCalls += failure ? 1 : 0;
+                    position = (position + 1) % windowSize;
+
+                    if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                        open();
+                    }
+                    break;
+                default:
+                    // OPEN 상태에서는 permission 을 주지 않으므로 같은 세대의 결과가 올 수 없다.
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        openedAt = nanoClock.getAsLong();
+        resetWindow();
+        transitionTo(State.OPEN);
+    }
+
+    private void resetWindow() {
+        position = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        generation++;
+        log.warn("order-service circuit breaker: {} -> {}", previous, next);
+        Counter.builder("order_service.circuit.transitions")
+                .tag("from", previous.name())
+                .tag("to", next.name())
+                .register(meterRegistry)
+                .increment();
+    }
+}
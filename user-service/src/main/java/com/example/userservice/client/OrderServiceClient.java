@@ -0,0 +1,162 @@
+package com.example.userservice.client;
+
+import com.example.userservice.cache.OrderCache;
+import com.example.userservice.vo.ResponseOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * order-service 의 주문 목록을 WebClient 로 비동기 조회한다.
+ * - 응답 배열을 원소 단위로 읽어서, deadline(order_service.timeout-millis) 까지 도착한 주문만 반환한다.
+ * - deadline 초과나 오류가 나면 요청 스레드를 붙잡지 않고 degraded 결과를 돌려준다.
+ * - order_service.batch.enabled 이면 {@link OrderBatchLoader} 로 여러 사용자의 조회를 모아서 보낸다.
+ * - 동시에 진행 중인 조회는 order_service.bulkhead.max-concurrent-calls 개로 제한하고, {@link OrderServiceCircuitBreaker} 가
+ *   OPEN 이면 호출하지 않는다. 두 경우 모두 빈 주문 목록의 degraded 결과를 바로 돌려준다.
+ * - {@link OrderCache} 가 켜져 있으면 캐시된 목록을 먼저 쓰고, degraded 결과 대신 last-known-good 목록을 돌려준다.
+ * 메트릭: order_service.calls.rejected (reason=bulkhead_full|circuit_open), order_service.bulkhead.available
+ */
+@Slf4j
+@Component
+public class OrderServiceClient {
+
+    private final WebClient webClient;
+    private final OrderBatchLoader orderBatchLoader;
+    private final OrderServiceCircuitBreaker circuitBreaker;
+    private final OrderCache orderCache;
+    private final Environment env;
+    private final Semaphore bulkhead;
+    private final Counter bulkheadRejectedCounter;
+    private final Counter circuitRejectedCounter;
+
+    public OrderServiceClient(@LoadBalanced WebClient.Builder webClientBuilder, OrderBatchLoader orderBatchLoader,
+                              OrderServiceCircuitBreaker circuitBreaker, OrderCache orderCache, Environment env,
+                              MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.orderBatchLoader = orderBatchLoader;
+        this.circuitBreaker = circuitBreaker;
+        this.orderCache = orderCache;
+        this.env = env;
+        this.bulkhead = new Semaphore(env.getProperty("order_service.bulkhead.max-concurrent-calls", Integer.class, 50));
+
+        this.bulkheadRejectedCounter = meterRegistry.counter("order_service.calls.rejected", "reason", "bulkhead_full");
+        this.circuitRejectedCounter = meterRegistry.counter("order_service.calls.rejected", "reason", "circuit_open");
+        Gauge.builder("order_service.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<OrderFetchResult> getOrders(String userId) {
+        OrderCache.Lookup cached = orderCache.lookup(userId);
+        switch (cached.getState()) {
+            case FRESH:
+                return CompletableFuture.completedFuture(new OrderFetchResult(cached.getOrders(), false));
+            case STALE:
+                // stale-while-revalidate: 보관된 목록을 바로 돌려주고, 같은 사용자의 갱신은 한 번만 보낸다.
+                if (orderCache.tryStartRefresh(userId)) {
+                    fetchAndCache(userId).whenComplete((result, e) -> orderCache.finishRefresh(userId));
+                }
+                return CompletableFuture.completedFuture(new OrderFetchResult(cached.getOrders(), false));
+            default:
+                return fetchAndCache(userId).thenApply(result -> {
+                    if (!result.isDegraded()) {
+                        return result;
+                    }
+                    List<ResponseOrder> lastKnown = orderCache.fallback(userId);
+                    return lastKnown == null ? result : new OrderFetchResult(lastKnown, true);
+                });
+        }
+    }
+
+    private CompletableFuture<OrderFetchResult> fetchAndCache(String userId) {
+        long generation = orderCache.generation();
+        return guardedFetch(userId).thenApply(result -> {
+            if (!result.isDegraded()) {
+                orderCache.put(userId, result.getOrders(), generation);
+            }
+            return result;
+        });
+    }
+
+    private CompletableFuture<OrderFetchResult> guardedFetch(String userId) {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejectedCounter.increment();
+            log.warn("order-service call rejected (bulkhead full): userId={}", userId);
+            return CompletableFuture.completedFuture(unavailable());
+        }
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == OrderServiceCircuitBreaker.NO_PERMISSION) {
+            bulkhead.release();
+            circuitRejectedCounter.increment();
+            log.debug("order-service call rejected (circuit open): userId={}", userId);
+            return CompletableFuture.completedFuture(unavailable());
+        }
+
+        CompletableFuture<OrderFetchResult> fetch;
+        try {
+            fetch = fetch(userId);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure(permission);
+            throw e;
+        }
+        // 호출자가 취소해도 원래 호출이 끝날 때까지 bulkhead 자리를 차지하도록 원래 future 에 결과 처리를 붙인다.
+        return fetch.whenComplete((result, e) -> {
+            bulkhead.release();
+            if (e instanceof CancellationException) {
+                circuitBreaker.release(permission);
+            } else if (e != null || result.isDegraded()) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                circuitBreaker.onSuccess(permission);
+            }
+        });
+    }
+
+    private CompletableFuture<OrderFetchResult> fetch(String userId) {
+        // 동시 요청을 order-service 배치 API 한 번으로 모아서 보낸다.
+        if (env.getProperty("order_service.batch.enabled", Boolean.class, false)) {
+            return orderBatchLoader.load(userId);
+        }
+
+        String orderUrl = String.format(env.getProperty("order_service.url"), userId);
+        Duration timeout = Duration.ofMillis(env.getProperty("order_service.timeout-millis", Long.class, 2000L));
+        AtomicBoolean completed = new AtomicBoolean();
+
+        return webClient.get()
+                .uri(orderUrl)
+                .retrieve()
+                .bodyToFlux(ResponseOrder.class)
+                .doOnComplete(() -> completed.set(true))
+                .take(timeout)
+                .onErrorResume(e -> {
+                    log.warn("order-service call failed: userId={}, cause={}", userId, e.toString());
+                    return Flux.empty();
+                })
+                .collectList()
+                .map(orders -> {
+                    if (!completed.get()) {
+                        log.warn("order-service response degraded: userId={}, received={}", userId, orders.size());
+                    }
+                    return new OrderFetchResult(orders, !completed.get());
+                })
+                // 요청 스레드의 현재 observation 을 Reactor context 로 넘겨 client span 이 요청 span 의 자식이 되게 한다.
+                .contextCapture()
+                .toFuture();
+    }
+
+    private static OrderFetchResult unavailable() {
+        return new OrderFetchResult(List.of(), true);
+    }
+}
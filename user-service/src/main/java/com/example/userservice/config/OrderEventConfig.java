@@ -0,0 +1,52 @@
+package com.example.userservice.config;
+
+import com.example.userservice.event.OrderCreatedEvent;
+import java.util.Map;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * order-service 주문 이벤트 수신 설정
+ * - 주문 캐시는 인스턴스마다 따로 있으므로, 인스턴스마다 자동 삭제되는 전용 큐로 order.created 를 받는다.
+ */
+@Configuration
+public class OrderEventConfig {
+
+    public static final String ORDER_EVENTS_EXCHANGE = "order.events";
+    public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
+    public static final String ORDER_CREATED_QUEUE_PREFIX = "user-service.order-created.";
+
+    @Bean
+    public TopicExchange orderEventsExchange() {
+        return new TopicExchange(ORDER_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Queue orderCreatedQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy(ORDER_CREATED_QUEUE_PREFIX));
+    }
+
+    @Bean
+    public Binding orderCreatedBinding(Queue orderCreatedQueue, TopicExchange orderEventsExchange) {
+        return BindingBuilder.bind(orderCreatedQueue).to(orderEventsExchange).with(ORDER_CREATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter orderEventMessageConverter() {
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of("OrderCreated", OrderCreatedEvent.class));
+
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+}
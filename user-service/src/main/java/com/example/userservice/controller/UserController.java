@@ -2,25 +2,31 @@ package com.example.userservice.controller;
 
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.entity.UserEntity;
+import com.example.userservice.mapper.UserMapper;
 import com.example.userservice.service.UserService;
 import com.example.userservice.vo.Greeting;
 import com.example.userservice.vo.RequestUser;
 import com.example.userservice.vo.ResponseUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RequiredArgsConstructor
 @RestController
@@ -28,9 +34,13 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final Environment environment;
     private final Greeting greeting;
     private final UserService userService;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
 
 
     @GetMapping("/health_check")
@@ -53,34 +63,69 @@ public class UserController {
     @PostMapping("/users")
     public ResponseEntity<?> createUser(@RequestBody RequestUser user) {
 
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        UserDto userDto = mapper.map(user, UserDto.class);
+        UserDto userDto = userMapper.toUserDto(user);
 
         log.info("before userDto: {}", userDto);
         userService.createUser(userDto);
         log.info("after userDto: {}", userDto);
-        ResponseUser responseUser = mapper.map(userDto, ResponseUser.class);
+        ResponseUser responseUser = userMapper.toResponseUser(userDto);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responseUser);
     }
 
+    /**
+     * size 를 지정하면 afterId 다음부터 size 개만 반환하고, 다음 페이지의 afterId 를 X-Next-After-Id 헤더로 알려준다.
+     */
     @GetMapping("/users")
-    public ResponseEntity<?> getUsers() {
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) Long afterId,
+                                      @RequestParam(required = false) Integer size) {
         log.info("UserController.getUsers");
+        if (size != null) {
+            List<UserEntity> users = userService.getUsersAfter(afterId == null ? 0L : afterId,
+                    Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            List<ResponseUser> responseUsers = new ArrayList<>(users.size());
+            users.forEach(v -> responseUsers.add(userMapper.toResponseUser(v)));
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+            if (!users.isEmpty()) {
+                response.header("X-Next-After-Id", String.valueOf(users.get(users.size() - 1).getId()));
+            }
+            return response.body(responseUsers);
+        }
+
         Iterable<UserEntity> users = userService.getUserByAll();
         List<ResponseUser> responseUsers = new ArrayList<>();
         users.forEach(v -> {
-            responseUsers.add(new ModelMapper().map(v, ResponseUser.class));
+            responseUsers.add(userMapper.toResponseUser(v));
         });
         return ResponseEntity.status(HttpStatus.OK).body(responseUsers);
     }
 
+    /**
+     * Accept: application/x-ndjson 요청 시 전체 사용자를 DB 에서 읽는 대로 한 줄씩 내려준다.
+     */
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.info("UserController.streamUsers");
+        StreamingResponseBody body = out ->
+                userService.streamAllUsers(v -> writeLine(out, userMapper.toResponseUser(v)));
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/users/{userId}")
     public ResponseEntity<?> getUser(@PathVariable String userId) {
         log.info("UserController.getUser");
         UserDto user = userService.getUserByUserId(userId);
 
-        return ResponseEntity.status(HttpStatus.OK).body(new ModelMapper().map(user, ResponseUser.class));
+        return ResponseEntity.status(HttpStatus.OK).body(userMapper.toResponseUser(user));
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
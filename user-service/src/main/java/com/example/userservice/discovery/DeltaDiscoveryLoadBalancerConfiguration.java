@@ -0,0 +1,19 @@
+package com.example.userservice.discovery;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 서비스별 load balancer child context 에서 기본 ServiceInstanceListSupplier 대신 {@link DiscoveryIndex} 를 쓰게 한다.
+ * ({@link DeltaDiscoveryConfig} 의 @LoadBalancerClients 에서 지정한다.)
+ */
+public class DeltaDiscoveryLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier discoveryIndexServiceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                                 DiscoveryIndex discoveryIndex) {
+        return new DiscoveryIndexServiceInstanceListSupplier(
+                ServiceInstanceListSupplier.builder().withDiscoveryClient().build(context), discoveryIndex);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.userservice.discovery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * discovery 서버의 /discovery/changes 를 long-poll 해서 {@link DiscoveryIndex} 에 적용하는 전용 스레드
+ * - 응답을 받으면 받은 epoch / version 으로 바로 다시 요청하므로, 등록/해제가 요청 하나의 왕복 시간 안에 반영된다.
+ * - 요청이 실패하면 retry-millis 뒤에 다시 시도하고, stale-after-millis 넘게 실패하면 index 를 비워 Eureka client 목록을 쓰게 한다.
+ * 메트릭: discovery.delta.propagation (서버가 변경을 기록한 시각부터 index 에 적용하기까지, 서버와 시계가 같다고 가정),
+ *        discovery.delta.resets, discovery.delta.errors
+ */
+@Slf4j
+public class DeltaDiscoveryPoller {
+
+    private final String url;
+    private final long timeoutMillis;
+    private final long retryMillis;
+    private final long staleAfterMillis;
+    private final DiscoveryIndex discoveryIndex;
+    private final RestTemplate restTemplate;
+
+    private final Timer propagationTimer;
+    private final Counter resetCounter;
+    private final Counter errorCounter;
+
+    // 아래 필드는 poller 스레드만 사용한다.
+    private String epoch;
+    private long version = -1;
+    private long failingSince;
+
+    private volatile boolean running;
+    private Thread pollerThread;
+
+    public DeltaDiscoveryPoller(String url, long timeoutMillis, long retryMillis, long staleAfterMillis,
+                                DiscoveryIndex discoveryIndex, MeterRegistry meterRegistry) {
+        this.url = url;
+        this.timeoutMillis = timeoutMillis;
+        this.retryMillis = retryMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.discoveryIndex = discoveryIndex;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(2));
+        // 서버가 timeoutMillis 동안 응답을 미루므로 그보다 여유 있게 기다린다.
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMillis + 5_000));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.propagationTimer = Timer.builder("discovery.delta.propagation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resetCounter = meterRegistry.counter("discovery.delta.resets");
+        this.errorCounter = meterRegistry.counter("discovery.delta.errors");
+    }
+
+    public void start() {
+        running = true;
+        pollerThread = new Thread(this::run, "discovery-delta-poller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (pollerThread != null) {
+            pollerThread.interrupt();
+            pollerThread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+                failingSince = 0;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                onFailure(e);
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void poll() {
+        RegistryChanges changes = restTemplate.getForObject(url + "?epoch={epoch}&since={since}&timeoutMillis={timeout}",
+                RegistryChanges.class, epoch == null ? "" : epoch, version, timeoutMillis);
+        if (changes == null) {
+            return;
+        }
+        discoveryIndex.apply(changes);
+
+        long now = System.currentTimeMillis();
+        for (RegistryChange change : changes.getChanges()) {
+            propagationTimer.record(Math.max(0, now - change.getTimestamp()), TimeUnit.MILLISECONDS);
+        }
+        if (changes.isReset()) {
+            resetCounter.increment();
+            log.info("discovery index reset: {} instances, version {}", changes.getInstances().size(),
+                    changes.getVersion());
+        }
+        epoch = changes.getEpoch();
+        version = changes.getVersion();
+    }
+
+    private void onFailure(RuntimeException e) {
+        errorCounter.increment();
+        long now = System.currentTimeMillis();
+        if (failingSince == 0) {
+            failingSince = now;
+            log.warn("discovery delta poll failed: {}", e.toString());
+        } else if (discoveryIndex.isSynced() && now - failingSince >= staleAfterMillis) {
+            log.warn("discovery server unreachable for {} ms, falling back to eureka client registry",
+                    now - failingSince);
+            discoveryIndex.invalidate();
+            // 다시 연결되면 전체 목록부터 받는다.
+            epoch = null;
+            version = -1;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.userservice.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * serviceId 별 UP 인스턴스 목록 (copy-on-write)
+ * - 변경은 {@link DeltaDiscoveryPoller} 스레드 하나만 적용하고, 응답 하나를 모두 적용한 새 map 을 한 번에 교체한다.
+ * - 읽는 쪽(load balancer)은 lock 없이 현재 map 을 그대로 쓴다.
+ * - 한 번도 동기화되지 않았거나 discovery 서버와 연결이 끊긴 동안, 또는 index 에 없는 서비스면 null 을 돌려주어
+ *   Eureka client 목록을 쓰게 한다.
+ */
+public class DiscoveryIndex {
+
+    private static final String UP = "UP";
+
+    private volatile Map<String, List<ServiceInstance>> instancesByService;
+
+    /**
+     * @return UP 인스턴스 목록, 동기화되지 않았거나 UP 인스턴스가 하나도 없는 서비스면 null
+     */
+    public List<ServiceInstance> getInstances(String serviceId) {
+        Map<String, List<ServiceInstance>> current = instancesByService;
+        return current == null ? null : current.get(normalize(serviceId));
+    }
+
+    public boolean isSynced() {
+        return instancesByService != null;
+    }
+
+    void apply(RegistryChanges changes) {
+        Map<String, List<ServiceInstance>> current = instancesByService;
+        if (!changes.isReset() && (current == null || changes.getChanges().isEmpty())) {
+            return;
+        }
+
+        Map<String, List<ServiceInstance>> next =
+                changes.isReset() ? new HashMap<>() : new HashMap<>(current);
+        // 응답 안에서 바뀌는 서비스의 목록만 복사해서 고친다.
+        Map<String, List<ServiceInstance>> touched = new HashMap<>();
+        if (changes.isReset()) {
+            changes.getInstances().forEach(change -> apply(next, touched, change));
+        }
+        changes.getChanges().forEach(change -> apply(next, touched, change));
+        touched.forEach((serviceId, instances) -> {
+            if (instances.isEmpty()) {
+                next.remove(serviceId);
+            } else {
+                next.put(serviceId, Collections.unmodifiableList(instances));
+            }
+        });
+        instancesByService = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * discovery 서버와 연결이 끊겨 목록을 믿을 수 없을 때 호출한다. 다시 reset 을 받을 때까지 Eureka client 목록을 쓴다.
+     */
+    void invalidate() {
+        instancesByService = null;
+    }
+
+    private static void apply(Map<String, List<ServiceInstance>> services,
+                              Map<String, List<ServiceInstance>> touched, RegistryChange change) {
+        String serviceId = normalize(change.getServiceId());
+        List<ServiceInstance> instances = touched.computeIfAbsent(serviceId,
+                id -> new ArrayList<>(services.getOrDefault(id, List.of())));
+        instances.removeIf(instance -> instance.getInstanceId().equals(change.getInstanceId()));
+        if (change.getType() == RegistryChange.Type.REGISTER && UP.equals(change.getStatus())) {
+            instances.add(new DefaultServiceInstance(change.getInstanceId(), serviceId, change.getHost(),
+                    change.getPort(), change.isSecure()));
+        }
+    }
+
+    private static String normalize(String serviceId) {
+        return serviceId == null ? "" : serviceId.toUpperCase(Locale.ROOT);
+    }
+}
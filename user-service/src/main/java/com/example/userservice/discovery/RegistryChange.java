@@ -0,0 +1,24 @@
+package com.example.userservice.discovery;
+
+import lombok.Data;
+
+/**
+ * discovery 서버(ecommerce)의 /discovery/changes 가 내려주는 인스턴스 등록/해제 하나
+ */
+@Data
+public class RegistryChange {
+
+    public enum Type {
+        REGISTER, CANCEL
+    }
+
+    private long version;
+    private long timestamp;
+    private Type type;
+    private String serviceId;
+    private String instanceId;
+    private String host;
+    private int port;
+    private boolean secure;
+    private String status;
+}
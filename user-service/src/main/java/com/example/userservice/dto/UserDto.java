@@ -18,4 +18,5 @@ public class UserDto {
     private String encryptedPassword;
 
     private List<ResponseOrder> orders;
+    private Boolean ordersDegraded;
 }
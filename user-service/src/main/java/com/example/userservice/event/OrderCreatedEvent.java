@@ -0,0 +1,14 @@
+package com.example.userservice.event;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 주문 생성 이벤트 (order-service -> user-service)
+ * 주문 캐시 무효화에 필요한 필드만 받는다.
+ */
+@Data
+public class OrderCreatedEvent implements Serializable {
+    private String orderId;
+    private String userId;
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.event;
+
+import com.example.userservice.cache.OrderCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 생성 이벤트를 받아 해당 사용자의 주문 캐시를 무효화한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventListener {
+
+    private final OrderCache orderCache;
+
+    @RabbitListener(queues = "#{orderCreatedQueue.name}")
+    public void onOrderCreated(OrderCreatedEvent event) {
+        log.debug("OrderCreated: orderId={}, userId={}", event.getOrderId(), event.getUserId());
+        if (event.getUserId() != null) {
+            orderCache.invalidate(event.getUserId());
+        }
+    }
+}
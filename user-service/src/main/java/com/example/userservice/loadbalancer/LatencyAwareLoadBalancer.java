@@ -0,0 +1,110 @@
+package com.example.userservice.loadbalancer;
+
+import com.example.userservice.loadbalancer.InstanceStatsRegistry.InstanceStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * power of two choices 방식의 load balancer
+ * - 인스턴스 두 개를 무작위로 골라 (응답 시간 EWMA x (처리 중인 요청 수 + 1)) 이 작은 쪽을 선택한다.
+ * - 연속 실패로 제외(eject)된 인스턴스는 고르지 않는다. 모두 제외된 경우에는 전체에서 고른다.
+ * - 아직 응답 시간 기록이 없는 인스턴스는 비교 상대의 EWMA 를 쓰므로 처리 중인 요청 수로만 비교된다.
+ * @LoadBalanced RestTemplate(BlockingLoadBalancerClient) 과 WebClient 모두 이 load balancer 를 사용한다.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final long RETAIN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry statsRegistry;
+    private volatile long lastRetainAt;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId, InstanceStatsRegistry statsRegistry) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+        this.lastRetainAt = statsRegistry.now();
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        retainPeriodically(instances);
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        List<ServiceInstance> candidates = instances;
+        for (int i = 0; i < instances.size(); i++) {
+            if (statsRegistry.get(instances.get(i)).isEjected()) {
+                candidates = available(instances);
+                break;
+            }
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(cost(statsRegistry.get(a), statsRegistry.get(b))
+                <= cost(statsRegistry.get(b), statsRegistry.get(a)) ? a : b);
+    }
+
+    private List<ServiceInstance> available(List<ServiceInstance> instances) {
+        List<ServiceInstance> available = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!statsRegistry.get(instance).isEjected()) {
+                available.add(instance);
+            }
+        }
+        return available.isEmpty() ? instances : available;
+    }
+
+    private static double cost(InstanceStats stats, InstanceStats other) {
+        double ewma = stats.getEwmaNanos();
+        if (ewma < 0) {
+            ewma = Math.max(other.getEwmaNanos(), 1.0);
+        }
+        return ewma * (stats.getInFlight() + 1);
+    }
+
+    private void retainPeriodically(List<ServiceInstance> instances) {
+        long now = statsRegistry.now();
+        if (now - lastRetainAt >= RETAIN_INTERVAL_NANOS) {
+            lastRetainAt = now;
+            statsRegistry.retain(serviceId, instances);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.userservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * load balancer 를 거친 요청의 시작/종료를 {@link InstanceStatsRegistry} 에 기록한다.
+ * 예외로 끝나거나 5xx 로 응답한 요청은 실패로 센다. 응답 없이 끝난 요청(DISCARD)은 처리 중인 요청 수에서만 뺀다.
+ */
+public class LatencyRecordingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceStatsRegistry statsRegistry;
+
+    public LatencyRecordingLifecycle(InstanceStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(statsRegistry.now());
+        }
+        if (lbResponse.hasServer()) {
+            statsRegistry.get(lbResponse.getServer()).onStart(request);
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        InstanceStatsRegistry.InstanceStats stats = statsRegistry.get(lbResponse.getServer());
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            stats.onDiscard(request);
+            return;
+        }
+
+        long latencyNanos = -1;
+        Object context = request == null ? null : request.getContext();
+        if (context instanceof TimedRequestContext timed && timed.getRequestStartTime() > 0) {
+            latencyNanos = statsRegistry.now() - timed.getRequestStartTime();
+        }
+        stats.onComplete(request, latencyNanos, isSuccess(completionContext));
+    }
+
+    private static boolean isSuccess(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() != CompletionContext.Status.SUCCESS) {
+            return false;
+        }
+        if (completionContext.getClientResponse() instanceof ResponseData responseData) {
+            HttpStatusCode status = responseData.getHttpStatus();
+            return status == null || !status.is5xxServerError();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.userservice.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 모든 @LoadBalanced 클라이언트에 {@link LatencyAwareLoadBalancer} 를 적용한다. (loadbalancer.latency-aware.enabled=false 면 round robin)
+ * 이 패키지는 apigateway-service 의 loadbalancer 패키지를 패키지 이름만 바꿔 복사한 것이다.
+ * 서비스마다 따로 빌드되어 공유 모듈을 둘 수 없으므로 복사해 두고, 테스트는 apigateway-service 쪽에만 둔다. 고칠 때는 두 곳을 함께 고친다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loadbalancer.latency-aware.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(Environment env) {
+        return new InstanceStatsRegistry(
+                env.getProperty("loadbalancer.latency-aware.ewma-alpha", Double.class, 0.3),
+                env.getProperty("loadbalancer.latency-aware.failure-threshold", Integer.class, 5),
+                env.getProperty("loadbalancer.latency-aware.eject-millis", Long.class, 30_000L),
+                env.getProperty("loadbalancer.latency-aware.in-flight-timeout-millis", Long.class, 60_000L));
+    }
+
+    @Bean
+    public LatencyRecordingLifecycle latencyRecordingLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new LatencyRecordingLifecycle(instanceStatsRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.userservice.mapper;
+
+import com.example.userservice.dto.UserDto;
+import com.example.userservice.entity.UserEntity;
+import com.example.userservice.vo.RequestUser;
+import com.example.userservice.vo.ResponseUser;
+import org.springframework.stereotype.Component;
+
+/**
+ * RequestUser / UserDto / UserEntity / ResponseUser 간 변환
+ * 요청마다 ModelMapper 를 만들어 reflection 으로 타입을 분석하던 방식을 대신해 필드를 직접 복사한다.
+ * 각 메소드가 복사하는 필드는 기존 ModelMapper 설정(STRICT / STANDARD)의 매핑 결과와 같다.
+ */
+@Component
+public class UserMapper {
+
+    public UserDto toUserDto(RequestUser requestUser) {
+        if (requestUser == null) {
+            return null;
+        }
+        UserDto userDto = new UserDto();
+        userDto.setEmail(requestUser.getEmail());
+        userDto.setName(requestUser.getName());
+        userDto.setPassword(requestUser.getPassword());
+        return userDto;
+    }
+
+    public UserDto toUserDto(UserEntity userEntity) {
+        if (userEntity == null) {
+            return null;
+        }
+        UserDto userDto = new UserDto();
+        userDto.setEmail(userEntity.getEmail());
+        userDto.setName(userEntity.getName());
+        userDto.setUserId(userEntity.getUserId());
+        userDto.setEncryptedPassword(userEntity.getEncryptedPassword());
+        return userDto;
+    }
+
+    public UserEntity toUserEntity(UserDto userDto) {
+        if (userDto == null) {
+            return null;
+        }
+        UserEntity userEntity = new UserEntity();
+        userEntity.setEmail(userDto.getEmail());
+        userEntity.setName(userDto.getName());
+        userEntity.setUserId(userDto.getUserId());
+        userEntity.setEncryptedPassword(userDto.getEncryptedPassword());
+        return userEntity;
+    }
+
+    public ResponseUser toResponseUser(UserDto userDto) {
+        if (userDto == null) {
+            return null;
+        }
+        ResponseUser responseUser = new ResponseUser();
+        responseUser.setEmail(userDto.getEmail());
+        responseUser.setName(userDto.getName());
+        responseUser.setUserId(userDto.getUserId());
+        responseUser.setOrders(userDto.getOrders());
+        responseUser.setOrdersDegraded(userDto.getOrdersDegraded());
+        return responseUser;
+    }
+
+    public ResponseUser toResponseUser(UserEntity userEntity) {
+        if (userEntity == null) {
+            return null;
+        }
+        ResponseUser responseUser = new ResponseUser();
+        responseUser.setEmail(userEntity.getEmail());
+        responseUser.setName(userEntity.getName());
+        responseUser.setUserId(userEntity.getUserId());
+        return responseUser;
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.userservice.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 import com.example.userservice.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +17,9 @@ public interface UserRepository extends CrudRepository<UserEntity, Long> {
 
     UserEntity findByEmail(String username);
 
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<UserEntity> streamAllByOrderByIdAsc();
+
 }
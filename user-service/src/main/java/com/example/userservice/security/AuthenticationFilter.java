@@ -1,20 +1,15 @@
 package com.example.userservice.security;
 
-import com.example.userservice.dto.UserDto;
 import com.example.userservice.service.UserService;
 import com.example.userservice.util.JwtUtil;
 import com.example.userservice.vo.RequestLogin;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Date;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
@@ -22,7 +17,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 
@@ -33,6 +27,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final Environment env;
@@ -59,7 +55,7 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
             throws AuthenticationException {
         try {
             // Login 요청의 경우 POST로 전달된다.
-            RequestLogin creds = new ObjectMapper().readValue(request.getInputStream(), RequestLogin.class);
+            RequestLogin creds = OBJECT_MAPPER.readValue(request.getInputStream(), RequestLogin.class);
 
             // 실제 인증정보로 만들고, UsernamePasswordAuthenticationFilter(AuthenticationManager)로 전달해야한다.
             // 따라서 UsernamePasswordAuthenticationToken으로 변환할 필요가 있다
@@ -67,8 +63,15 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
             // Doing (1), (2)
 
-            return getAuthenticationManager().authenticate(
-                    new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getPassword(), new ArrayList<>()));
+            try {
+                return getAuthenticationManager().authenticate(
+                        new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getPassword(), new ArrayList<>()));
+            } catch (PasswordHashingRejectedException e) {
+                // 비밀번호 검증 스레드 풀이 포화 상태: 인증을 진행하지 않고 바로 503 으로 응답한다. (null = 응답 완료)
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setHeader("Retry-After", "1");
+                return null;
+            }
             /**
              * new UsernamePasswordAuthenticationToken
              * This constructor should only be used by AuthenticationManager or AuthenticationProvider implementations
@@ -111,14 +114,14 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     protected void successfulAuthentication(HttpServletRequest req, HttpServletResponse res, FilterChain chain,
                                             Authentication auth) throws IOException, ServletException {
 //        log.info("Auth Result userName: {}", ((User)auth.getPrincipal()).getUsername());
-        String userName = ((User) auth.getPrincipal()).getUsername();
-        UserDto userDto = userService.getUserDetailsByEmail(userName);
-        log.info("userDto: {}", userDto);
+        // 인증 단계에서 조회한 사용자를 principal 에서 꺼내 쓰므로 DB 를 다시 조회하지 않는다.
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+        String userId = principal.getUserId();
 
-        String token = jwtUtil.issueAccessToken(userDto.getUserId());
+        String token = jwtUtil.issueAccessToken(userId);
 
         res.addHeader("token", token);
-        res.addHeader("userId", userDto.getUserId());
+        res.addHeader("userId", userId);
 
     }
 }
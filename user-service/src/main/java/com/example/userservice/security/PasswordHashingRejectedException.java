@@ -0,0 +1,14 @@
+package com.example.userservice.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 비밀번호 해시 작업 큐가 가득 찼거나 제한 시간 안에 처리되지 않은 경우 (503)
+ */
+public class PasswordHashingRejectedException extends ResponseStatusException {
+
+    public PasswordHashingRejectedException(String reason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.userservice.security;
+
+import com.example.userservice.entity.UserEntity;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인에 자주 쓰이는 사용자를 email 기준으로 login.principal-cache.ttl-millis 동안 보관한다.
+ * - principal 객체가 아니라 UserEntity 를 보관한다. 인증 후 credentials 를 지우는 principal 은 요청마다 새로 만든다.
+ * - ttl-millis 가 0 이면 캐시하지 않는다.
+ * - 가득 차면 만료된 항목을 정리하고, 그래도 자리가 없으면 새 항목은 캐시하지 않는다.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public PrincipalCache(@Value("${login.principal-cache.ttl-millis:30000}") long ttlMillis,
+                          @Value("${login.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public UserEntity get(String email) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(email, entry);
+            return null;
+        }
+        return entry.userEntity;
+    }
+
+    public void put(String email, UserEntity userEntity) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(email, new Entry(userEntity, now + ttlMillis));
+    }
+
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final UserEntity userEntity;
+        private final long expiresAt;
+
+        private Entry(UserEntity userEntity, long expiresAt) {
+            this.userEntity = userEntity;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
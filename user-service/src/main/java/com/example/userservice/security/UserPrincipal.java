@@ -0,0 +1,27 @@
+package com.example.userservice.security;
+
+import com.example.userservice.entity.UserEntity;
+import java.util.ArrayList;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * 인증 시 조회한 UserEntity 를 그대로 들고 다니는 principal
+ * 로그인 성공 후 토큰 발급 단계에서 사용자를 다시 조회하지 않아도 된다.
+ */
+public class UserPrincipal extends User {
+
+    private final UserEntity userEntity;
+
+    public UserPrincipal(UserEntity userEntity) {
+        super(userEntity.getEmail(), userEntity.getEncryptedPassword(), true, true, true, true, new ArrayList<>());
+        this.userEntity = userEntity;
+    }
+
+    public UserEntity getUserEntity() {
+        return userEntity;
+    }
+
+    public String getUserId() {
+        return userEntity.getUserId();
+    }
+}
@@ -2,6 +2,8 @@ package com.example.userservice.service;
 
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.entity.UserEntity;
+import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface UserService extends UserDetailsService {
@@ -11,5 +13,7 @@ public interface UserService extends UserDetailsService {
 
     Iterable<UserEntity> getUserByAll();
 
-    UserDto getUserDetailsByEmail(String email);
+    List<UserEntity> getUsersAfter(Long afterId, int size);
+
+    void streamAllUsers(Consumer<UserEntity> consumer);
 }
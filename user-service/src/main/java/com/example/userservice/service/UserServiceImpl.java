@@ -1,26 +1,28 @@
 package com.example.userservice.service;
 
+import com.example.userservice.client.OrderFetchResult;
+import com.example.userservice.client.OrderServiceClient;
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.entity.UserEntity;
+import com.example.userservice.mapper.UserMapper;
 import com.example.userservice.repository.UserRepository;
+import com.example.userservice.security.PrincipalCache;
+import com.example.userservice.security.UserPrincipal;
 import com.example.userservice.vo.ResponseOrder;
-import java.util.ArrayList;
+import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.env.Environment;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -28,60 +30,67 @@ import org.springframework.web.client.RestTemplate;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
-    private final RestTemplate restTemplate;
-
-    private final Environment env;
-
+    private final PasswordEncoder passwordEncoder;
+    private final OrderServiceClient orderServiceClient;
+    private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final PrincipalCache principalCache;
+
+    /**
+     * 조회한 UserEntity 를 담은 UserPrincipal 을 반환한다. 최근에 로그인한 사용자는 PrincipalCache 에서 꺼낸다.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("loadUserByUsername : {} ", username);
-        UserEntity userEntity = userRepository.findByEmail(username);
-        log.info("userEntity : {} ", userEntity);
+        log.debug("loadUserByUsername : {} ", username);
+        UserEntity userEntity = principalCache.get(username);
         if (userEntity == null) {
-            throw new UsernameNotFoundException(username);
+            userEntity = userRepository.findByEmail(username);
+            if (userEntity == null) {
+                throw new UsernameNotFoundException(username);
+            }
+            principalCache.put(username, userEntity);
         }
-        return new User(userEntity.getEmail(), userEntity.getEncryptedPassword(), true, true, true, true,
-                new ArrayList<>());
+        return new UserPrincipal(userEntity);
     }
 
     @Override
     public UserDto createUser(UserDto userDto) {
         userDto.setUserId(UUID.randomUUID().toString());
 
-        ModelMapper mapper = new ModelMapper();
-        mapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-        UserEntity userEntity = mapper.map(userDto, UserEntity.class);
-        userEntity.setEncryptedPassword(bCryptPasswordEncoder.encode(userDto.getPassword()));
+        UserEntity userEntity = userMapper.toUserEntity(userDto);
+        userEntity.setEncryptedPassword(passwordEncoder.encode(userDto.getPassword()));
 
         userRepository.save(userEntity);
+        // 같은 email 로 캐시된 사용자가 있으면 새로 저장한 사용자로 로그인하도록 비운다.
+        principalCache.evict(userEntity.getEmail());
 
-        return mapper.map(userEntity, UserDto.class);
+        return userMapper.toUserDto(userEntity);
     }
 
     @Override
     public UserDto getUserByUserId(String userId) {
+        // 주문 조회를 먼저 시작해두고, 사용자 조회와 동시에 진행한다.
+        CompletableFuture<OrderFetchResult> orderFetch = orderServiceClient.getOrders(userId);
+
         UserEntity userEntity = userRepository.findByUserId(userId);
 
         if(userEntity == null) {
+            orderFetch.cancel(true);
             throw new UsernameNotFoundException("User Not Found");
         }
 
-        UserDto userDto = new ModelMapper().map(userEntity, UserDto.class);
+        UserDto userDto = userMapper.toUserDto(userEntity);
 
         // 임시 주문 데이터 저장
 //        List<ResponseOrder> orders = new ArrayList<>();
 //        userDto.setOrders(orders);
 
-        // Using RestTemplate
-        String orderUrl = "http://127.0.0.1:8000/order-service/%s/orders"; // 하드코딩
-        orderUrl = String.format(env.getProperty("order_service.url"), userId); // 설정 파일로부터 url 값 가져오기
-
-        ResponseEntity<List<ResponseOrder>> orderListResponse = restTemplate.exchange(orderUrl, HttpMethod.GET, null,
-                new ParameterizedTypeReference<List<ResponseOrder>>() {
-        });
-
-        userDto.setOrders(orderListResponse.getBody());
+        // order-service 가 느리면 deadline 까지 받은 주문만 담고 degraded 로 표시한다.
+        OrderFetchResult orderFetchResult = orderFetch.join();
+        userDto.setOrders(orderFetchResult.getOrders());
+        if (orderFetchResult.isDegraded()) {
+            userDto.setOrdersDegraded(true);
+        }
         return userDto;
     }
 
@@ -90,13 +99,25 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * id 기준 keyset 페이지 조회: afterId 보다 큰 id 를 size 개까지 반환한다.
+     */
     @Override
-    public UserDto getUserDetailsByEmail(String email) {
-        UserEntity userEntity = userRepository.findByEmail(email);
-        if (userEntity == null)
-            throw new UsernameNotFoundException(email);
+    public List<UserEntity> getUsersAfter(Long afterId, int size) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
 
-        ModelMapper mapper = new ModelMapper();
-        return mapper.map(userEntity, UserDto.class);
+    /**
+     * 전체 사용자를 한 건씩 읽어 consumer 로 넘기고 곧바로 영속성 컨텍스트에서 분리한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserEntity> consumer) {
+        try (Stream<UserEntity> users = userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 }
@@ -0,0 +1,91 @@
+package com.example.userservice.util;
+
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.endpoint.event.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * jwt.secret 으로부터 서명 키를 한 번만 만들어 보관한다.
+ * - 로그인 처리 경로에서는 Environment 를 읽지 않고 {@link #current()} 스냅샷만 사용한다.
+ * - RefreshScopeRefreshedEvent(busrefresh) 수신 시 secret 이 바뀌었으면 새 스냅샷으로 원자적으로 교체한다.
+ * - 발급하는 토큰에는 kid 헤더를 넣어 apigateway-service 가 교체 전 키로 서명된 토큰을 구분할 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class JwtKeyHolder {
+
+    private final Environment env;
+    private final AtomicReference<SigningKey> current = new AtomicReference<>();
+
+    public JwtKeyHolder(Environment env) {
+        this.env = env;
+        reload();
+    }
+
+    public SigningKey current() {
+        return current.get();
+    }
+
+    @EventListener
+    public void onRefresh(RefreshScopeRefreshedEvent event) {
+        reload();
+    }
+
+    synchronized void reload() {
+        String secret = env.getProperty("jwt.secret");
+        if (secret == null || secret.isEmpty()) {
+            log.warn("jwt.secret is not configured");
+            return;
+        }
+
+        String kid = env.getProperty("jwt.kid", keyIdOf(secret));
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SigningKey previous = current.get();
+        if (previous != null && previous.kid.equals(kid) && previous.key.equals(key)) {
+            return;
+        }
+
+        current.set(new SigningKey(kid, key));
+        log.info("jwt signing key loaded: kid={}", kid);
+    }
+
+    /**
+     * secret 의 SHA-256 앞 8바이트로 만든 key id. apigateway-service 의 JwtKeyHolder 와 같은 규칙을 사용한다.
+     */
+    static String keyIdOf(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class SigningKey {
+        private final String kid;
+        private final SecretKey key;
+
+        private SigningKey(String kid, SecretKey key) {
+            this.kid = kid;
+            this.key = key;
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public SecretKey getKey() {
+            return key;
+        }
+    }
+}
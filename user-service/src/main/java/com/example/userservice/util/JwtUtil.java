@@ -2,29 +2,31 @@ package com.example.userservice.util;
 
 import static com.example.userservice.common.constant.jwt.TokenType.ACCESS_TOKEN;
 
+import com.example.userservice.util.JwtKeyHolder.SigningKey;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.env.Environment;
 
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class JwtUtil {
-    private final Environment env;
+    private final JwtKeyHolder jwtKeyHolder;
 
     public String issueAccessToken(String userId) {
-        String token = env.getProperty("jwt.secret");
+        SigningKey signingKey = jwtKeyHolder.current();
+        if (signingKey == null) {
+            throw new IllegalStateException("jwt signing key is not loaded");
+        }
         return Jwts.builder()
+                .header().keyId(signingKey.getKid()).and()
                 .subject(userId)
                 .claim("token-type", ACCESS_TOKEN.getName())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN.getExpirationTime()))
-                .signWith(Keys.hmacShaKeyFor(env.getProperty("jwt.secret").getBytes(StandardCharsets.UTF_8)))
+                .signWith(signingKey.getKey())
                 .compact();
     }
 }
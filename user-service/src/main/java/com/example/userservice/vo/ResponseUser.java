@@ -13,4 +13,5 @@ public class ResponseUser {
     private String userId;
 
     private List<ResponseOrder> orders;
+    private Boolean ordersDegraded;
 }
@@ -0,0 +1,13 @@
+package com.example.userservice.vo;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * order-service 의 POST /orders/by-users 응답 한 줄 (사용자 한 명의 주문 목록)
+ */
+@Data
+public class ResponseUserOrders {
+    private String userId;
+    private List<ResponseOrder> orders;
+}
@@ -0,0 +1,104 @@
+package com.example.userservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.userservice.cache.OrderCache.State;
+import com.example.userservice.vo.ResponseOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OrderCache(true, 2, 1_000, 10_000, 60_000, now::get, meterRegistry);
+    }
+
+    @Test
+    void freshThenStaleThenMiss() {
+        cache.put("u1", orders("o-1"), cache.generation());
+
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.FRESH);
+        now.addAndGet(5_000);
+        OrderCache.Lookup stale = cache.lookup("u1");
+        assertThat(stale.getState()).isEqualTo(State.STALE);
+        assertThat(stale.getOrders()).extracting("orderId").containsExactly("o-1");
+        now.addAndGet(10_000);
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.MISS);
+
+        // stale-while-revalidate 는 지났지만 stale-if-error 안이므로 fallback 으로는 쓸 수 있다.
+        assertThat(cache.fallback("u1")).extracting("orderId").containsExactly("o-1");
+        now.addAndGet(60_000);
+        assertThat(cache.fallback("u1")).isNull();
+
+        assertThat(cache.getHitRatio()).isEqualTo(2.0 / 3.0);
+        assertThat(meterRegistry.timer("order_cache.staleness").count()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresFetchStartedBeforeInvalidation() {
+        long startedAt = cache.generation();
+        cache.invalidate("u1");
+        cache.put("u1", orders("o-1"), startedAt);
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.MISS);
+
+        cache.put("u1", orders("o-1", "o-2"), cache.generation());
+        assertThat(cache.lookup("u1").getOrders()).hasSize(2);
+
+        cache.invalidate("u1");
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.MISS);
+        assertThat(cache.fallback("u1")).isNull();
+    }
+
+    @Test
+    void ignoresOlderFetchCompletingAfterNewerOne() {
+        long older = cache.generation();
+        cache.put("u1", orders("o-1", "o-2"), cache.generation());
+        cache.put("u1", orders("o-1"), older);
+
+        assertThat(cache.lookup("u1").getOrders()).hasSize(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndTracksFootprint() {
+        cache.put("u1", orders("o-1"), cache.generation());
+        cache.put("u2", orders("o-2", "o-3"), cache.generation());
+        long twoEntries = cache.getEstimatedBytes();
+        cache.lookup("u1");
+        cache.put("u3", orders("o-4"), cache.generation());
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.lookup("u2").getState()).isEqualTo(State.MISS);
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.FRESH);
+        assertThat(cache.getEstimatedBytes()).isLessThan(twoEntries);
+        assertThat(meterRegistry.get("order_cache.entries").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        cache = new OrderCache(false, 2, 1_000, 10_000, 60_000, now::get, new SimpleMeterRegistry());
+        cache.put("u1", orders("o-1"), cache.generation());
+
+        assertThat(cache.lookup("u1").getState()).isEqualTo(State.MISS);
+        assertThat(cache.fallback("u1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static List<ResponseOrder> orders(String... orderIds) {
+        return Arrays.stream(orderIds).map(orderId -> {
+            ResponseOrder order = new ResponseOrder();
+            order.setOrderId(orderId);
+            order.setProductId("CATALOG-001");
+            return order;
+        }).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.userservice.client;
+
+import static com.example.userservice.client.OrderServiceCircuitBreaker.NO_PERMISSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.userservice.client.OrderServiceCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderServiceCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private OrderServiceCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new OrderServiceCircuitBreaker(10, 4, 50, 1000, now::get, meterRegistry);
+    }
+
+    @Test
+    void staysClosedUntilMinimumCallsAndThreshold() {
+        recordFailure();
+        recordFailure();
+        recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        recordSuccess();
+        recordSuccess();
+        recordSuccess();
+        recordSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        recordFailure();
+        recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEqualTo(NO_PERMISSION);
+    }
+
+    @Test
+    void slidingWindowForgetsOldOutcomes() {
+        circuitBreaker = new OrderServiceCircuitBreaker(4, 4, 75, 1000, now::get, meterRegistry);
+        recordFailure();
+        recordFailure();
+        recordSuccess();
+        recordSuccess();
+        // 가장 오래된 실패 두 건이 밀려나 실패율이 0% 가 된다.
+        recordSuccess();
+        recordSuccess();
+        recordFailure();
+        recordFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbe() {
+        open();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        long probe = circuitBreaker.tryAcquirePermission();
+        assertThat(probe).isNotEqualTo(NO_PERMISSION);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEqualTo(NO_PERMISSION);
+
+        circuitBreaker.onFailure(probe);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEqualTo(NO_PERMISSION);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        probe = circuitBreaker.tryAcquirePermission();
+        assertThat(probe).isNotEqualTo(NO_PERMISSION);
+        circuitBreaker.onSuccess(probe);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isNotEqualTo(NO_PERMISSION);
+
+        assertThat(meterRegistry.counter("order_service.circuit.transitions", "from", "CLOSED", "to", "OPEN").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("order_service.circuit.transitions", "from", "HALF_OPEN", "to", "OPEN").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("order_service.circuit.state").gauge().value()).isZero();
+    }
+
+    @Test
+    void releasedProbeLetsNextCallProbe() {
+        open();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        long probe = circuitBreaker.tryAcquirePermission();
+        assertThat(probe).isNotEqualTo(NO_PERMISSION);
+        circuitBreaker.release(probe);
+        assertThat(circuitBreaker.tryAcquirePermission()).isNotEqualTo(NO_PERMISSION);
+    }
+
+    @Test
+    void callStartedBeforeOpenIsNotTakenAsProbe() {
+        long slowCall = circuitBreaker.tryAcquirePermission();
+        open();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        long probe = circuitBreaker.tryAcquirePermission();
+
+        // CLOSED 때 시작된 호출이 HALF_OPEN 중에 끝나도 상태를 바꾸지 않고, probe 자리도 비우지 않는다.
+        circuitBreaker.onSuccess(slowCall);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        circuitBreaker.release(slowCall);
+        assertThat(circuitBreaker.tryAcquirePermission()).isEqualTo(NO_PERMISSION);
+
+        circuitBreaker.onFailure(probe);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void callStartedBeforeRecoveryIsNotCountedInNewWindow() {
+        long slowCall = circuitBreaker.tryAcquirePermission();
+        open();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquirePermission());
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        circuitBreaker.onFailure(slowCall);
+        recordFailure();
+        recordFailure();
+        recordFailure();
+        // 새 window 에는 실패 3건만 있어 minimum-calls(4) 에 못 미친다.
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    private void recordSuccess() {
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void recordFailure() {
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            recordFailure();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+}
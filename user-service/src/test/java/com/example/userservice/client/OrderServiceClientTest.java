@@ -0,0 +1,279 @@
+package com.example.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.userservice.cache.OrderCache;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 지연을 주입할 수 있는 order-service stub 으로 deadline / degraded / circuit breaker / bulkhead 동작을 확인한다.
+ */
+class OrderServiceClientTest {
+
+    private static final long STUB_DELAY_MILLIS = 3000;
+    private static final long TIMEOUT_MILLIS = 200;
+
+    private HttpServer stub;
+    private MockEnvironment env;
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicInteger failingCalls = new AtomicInteger();
+    private final AtomicInteger fastCalls = new AtomicInteger();
+    private final AtomicBoolean fastDown = new AtomicBoolean();
+    private MeterRegistry meterRegistry;
+    private OrderServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/order-service/fast/orders", exchange -> {
+            fastCalls.incrementAndGet();
+            if (fastDown.get()) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "[{\"orderId\":\"o-1\"},{\"orderId\":\"o-2\"}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.createContext("/order-service/slow/orders", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("[{\"orderId\":\"o-1\"},".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                sleep(STUB_DELAY_MILLIS);
+                out.write("{\"orderId\":\"o-2\"}]".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ignored) {
+                // 클라이언트가 deadline 으로 연결을 끊은 경우
+            }
+        });
+        stub.createContext("/order-service/failing/orders", exchange -> {
+            failingCalls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        stub.createContext("/order-service/orders/by-users", exchange -> {
+            batchCalls.incrementAndGet();
+            byte[] body = ("{\"userId\":\"a\",\"orders\":[{\"orderId\":\"o-a\"}]}\n"
+                    + "{\"userId\":\"b\",\"orders\":[]}\n"
+                    + "{\"userId\":\"c\",\"orders\":[{\"orderId\":\"o-c\"}]}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        String baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+        env = new MockEnvironment()
+                .withProperty("order_service.url", baseUrl + "/order-service/%s/orders")
+                .withProperty("order_service.batch-url", baseUrl + "/order-service/orders/by-users")
+                .withProperty("order_service.batch.window-millis", "50")
+                .withProperty("order_service.timeout-millis", String.valueOf(TIMEOUT_MILLIS))
+                .withProperty("order_service.circuit-breaker.window-size", "4")
+                .withProperty("order_service.circuit-breaker.minimum-calls", "4")
+                .withProperty("order_service.circuit-breaker.open-millis", "300");
+        client = newClient();
+    }
+
+    private OrderServiceClient newClient() {
+        meterRegistry = new SimpleMeterRegistry();
+        return new OrderServiceClient(WebClient.builder(), new OrderBatchLoader(WebClient.builder(), env),
+                new OrderServiceCircuitBreaker(env, meterRegistry), new OrderCache(env, meterRegistry), env,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void returnsAllOrdersWhenOrderServiceIsFast() {
+        OrderFetchResult result = client.getOrders("fast").join();
+
+        assertThat(result.isDegraded()).isFalse();
+        assertThat(result.getOrders()).hasSize(2);
+    }
+
+    @Test
+    void returnsPartialOrdersWhenOrderServiceIsSlow() {
+        long start = System.currentTimeMillis();
+        OrderFetchResult result = client.getOrders("slow").join();
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(STUB_DELAY_MILLIS);
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(result.getOrders()).extracting("orderId").containsExactly("o-1");
+    }
+
+    @Test
+    void batchesConcurrentLookupsIntoOneCall() {
+        env.setProperty("order_service.batch.enabled", "true");
+
+        CompletableFuture<OrderFetchResult> a = client.getOrders("a");
+        CompletableFuture<OrderFetchResult> b = client.getOrders("b");
+        CompletableFuture<OrderFetchResult> c = client.getOrders("c");
+
+        assertThat(a.join().getOrders()).extracting("orderId").containsExactly("o-a");
+        assertThat(b.join().getOrders()).isEmpty();
+        assertThat(c.join().getOrders()).extracting("orderId").containsExactly("o-c");
+        assertThat(batchCalls.get()).isEqualTo(1);
+    }
+
+    /**
+     * 작은 요청 스레드 풀(Tomcat worker 역할)로 느린 order-service 를 호출해도
+     * 각 요청이 deadline 안에 끝나므로 스레드 풀이 고갈되지 않는다. (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void slowOrderServiceDoesNotExhaustRequestThreads() throws Exception {
+        disableCircuitBreaker();
+        client = newClient();
+        int workers = 4;
+        int requests = 32;
+        ExecutorService requestThreads = Executors.newFixedThreadPool(workers);
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<OrderFetchResult>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(requestThreads.submit(() -> client.getOrders("slow").join()));
+            }
+            for (Future<OrderFetchResult> result : results) {
+                assertThat(result.get().isDegraded()).isTrue();
+            }
+            long elapsed = System.currentTimeMillis() - start;
+
+            assertThat(elapsed).isLessThan(requests / workers * STUB_DELAY_MILLIS / 2);
+        } finally {
+            requestThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    void opensCircuitAfterFailuresAndClosesAfterSuccessfulProbe() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.getOrders("failing").join().isDegraded()).isTrue();
+        }
+        assertThat(failingCalls.get()).isEqualTo(4);
+
+        // OPEN: order-service 를 호출하지 않고 바로 빈 목록을 돌려준다.
+        OrderFetchResult rejected = client.getOrders("fast").join();
+        assertThat(rejected.isDegraded()).isTrue();
+        assertThat(rejected.getOrders()).isEmpty();
+        assertThat(meterRegistry.counter("order_service.calls.rejected", "reason", "circuit_open").count())
+                .isEqualTo(1);
+
+        // open-millis 후 HALF_OPEN probe 가 성공하면 CLOSED 로 돌아간다.
+        sleep(400);
+        assertThat(client.getOrders("fast").join().getOrders()).hasSize(2);
+        assertThat(client.getOrders("fast").join().getOrders()).hasSize(2);
+        assertThat(meterRegistry.counter("order_service.circuit.transitions", "from", "HALF_OPEN", "to", "CLOSED")
+                .count()).isEqualTo(1);
+    }
+
+    /**
+     * 느린 order-service 로 동시 호출이 bulkhead 한도를 넘으면 나머지는 기다리지 않고 바로 degraded 로 끝난다.
+     */
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimit() {
+        env.setProperty("order_service.bulkhead.max-concurrent-calls", "2");
+        disableCircuitBreaker();
+        client = newClient();
+
+        List<CompletableFuture<OrderFetchResult>> inFlight = List.of(client.getOrders("slow"), client.getOrders("slow"));
+        long start = System.currentTimeMillis();
+        OrderFetchResult rejected = client.getOrders("fast").join();
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(TIMEOUT_MILLIS);
+        assertThat(rejected.isDegraded()).isTrue();
+        assertThat(rejected.getOrders()).isEmpty();
+        assertThat(meterRegistry.counter("order_service.calls.rejected", "reason", "bulkhead_full").count())
+                .isEqualTo(1);
+
+        inFlight.forEach(CompletableFuture::join);
+        assertThat(client.getOrders("fast").join().isDegraded()).isFalse();
+    }
+
+    @Test
+    void servesCachedOrdersAndRevalidatesInBackground() {
+        env.setProperty("order_service.cache.enabled", "true");
+        env.setProperty("order_service.cache.fresh-ttl-millis", "200");
+        client = newClient();
+
+        assertThat(client.getOrders("fast").join().getOrders()).hasSize(2);
+        assertThat(client.getOrders("fast").join().getOrders()).hasSize(2);
+        assertThat(fastCalls.get()).isEqualTo(1);
+
+        // fresh-ttl 이 지나면 보관된 목록을 바로 돌려주고 백그라운드로 한 번 갱신한다.
+        sleep(300);
+        OrderFetchResult stale = client.getOrders("fast").join();
+        assertThat(stale.isDegraded()).isFalse();
+        assertThat(stale.getOrders()).hasSize(2);
+        awaitCalls(fastCalls, 2);
+        assertThat(meterRegistry.counter("order_cache.requests", "result", "stale").count()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToLastKnownOrdersWhenOrderServiceFails() {
+        env.setProperty("order_service.cache.enabled", "true");
+        env.setProperty("order_service.cache.fresh-ttl-millis", "0");
+        env.setProperty("order_service.cache.stale-while-revalidate-millis", "0");
+        client = newClient();
+
+        assertThat(client.getOrders("fast").join().getOrders()).hasSize(2);
+        fastDown.set(true);
+
+        OrderFetchResult result = client.getOrders("fast").join();
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(result.getOrders()).extracting("orderId").containsExactly("o-1", "o-2");
+        assertThat(meterRegistry.counter("order_cache.requests", "result", "fallback").count()).isEqualTo(1);
+    }
+
+    private static void awaitCalls(AtomicInteger calls, int expected) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (calls.get() < expected && System.currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+        assertThat(calls.get()).isEqualTo(expected);
+    }
+
+    private void disableCircuitBreaker() {
+        env.setProperty("order_service.circuit-breaker.window-size", "1000");
+        env.setProperty("order_service.circuit-breaker.minimum-calls", "1000");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.userservice.cache.OrderCache;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 요청 span 안에서 order-service 를 호출하면 W3C traceparent 헤더가 전파되고,
+ * client span 이 요청 span 의 자식으로 exporter 에 기록되는지 확인한다. (InMemorySpanExporter 사용)
+ */
+class OrderServiceTracingTest {
+
+    private HttpServer stub;
+    private final AtomicReference<String> receivedTraceparent = new AtomicReference<>();
+
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private OtelTracer tracer;
+    private ObservationRegistry observationRegistry;
+    private OrderServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/order-service/u1/orders", exchange -> {
+            receivedTraceparent.set(exchange.getRequestHeaders().getFirst("traceparent"));
+            byte[] body = "[{\"orderId\":\"o-1\"}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+
+        exporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = openTelemetry.getTracer("user-service-test");
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        tracer = new OtelTracer(otelTracer, currentTraceContext, event -> {
+        }, new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        OtelPropagator propagator = new OtelPropagator(openTelemetry.getPropagators(), otelTracer);
+
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                        new PropagatingReceiverTracingObservationHandler<>(tracer, propagator),
+                        new DefaultTracingObservationHandler(tracer)));
+
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("order_service.url",
+                        "http://127.0.0.1:" + stub.getAddress().getPort() + "/order-service/%s/orders");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WebClient.Builder webClientBuilder = WebClient.builder().observationRegistry(observationRegistry);
+        client = new OrderServiceClient(webClientBuilder, new OrderBatchLoader(WebClient.builder(), env),
+                new OrderServiceCircuitBreaker(env, meterRegistry), new OrderCache(env, meterRegistry), env,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        tracerProvider.close();
+    }
+
+    @Test
+    void propagatesTraceContextToOrderService() {
+        Observation request = Observation.start("user.request", observationRegistry);
+        Span requestSpan;
+        try (Observation.Scope scope = request.openScope()) {
+            requestSpan = tracer.currentSpan();
+            assertThat(client.getOrders("u1").join().getOrders()).hasSize(1);
+        } finally {
+            request.stop();
+        }
+
+        assertThat(receivedTraceparent.get())
+                .startsWith("00-" + requestSpan.context().traceId() + "-");
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        SpanData clientSpan = spans.stream()
+                .filter(span -> span.getKind() == SpanKind.CLIENT)
+                .findFirst()
+                .orElseThrow();
+        assertThat(clientSpan.getTraceId()).isEqualTo(requestSpan.context().traceId());
+        assertThat(clientSpan.getParentSpanId()).isEqualTo(requestSpan.context().spanId());
+        assertThat(receivedTraceparent.get()).contains("-" + clientSpan.getSpanId() + "-");
+    }
+}
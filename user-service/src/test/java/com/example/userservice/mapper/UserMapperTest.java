@@ -0,0 +1,63 @@
+package com.example.userservice.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.userservice.dto.UserDto;
+import com.example.userservice.entity.UserEntity;
+import com.example.userservice.vo.RequestUser;
+import com.example.userservice.vo.ResponseOrder;
+import com.example.userservice.vo.ResponseUser;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+
+/**
+ * UserMapper 결과가 기존 ModelMapper 매핑 결과와 같은지 확인한다.
+ */
+class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    @Test
+    void sameResultAsStrictModelMapper() {
+        ModelMapper strict = new ModelMapper();
+        strict.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        RequestUser requestUser = new RequestUser();
+        requestUser.setEmail("user@example.com");
+        requestUser.setName("user");
+        requestUser.setPassword("password1234");
+        assertThat(userMapper.toUserDto(requestUser)).isEqualTo(strict.map(requestUser, UserDto.class));
+
+        UserDto userDto = userMapper.toUserDto(requestUser);
+        userDto.setUserId("user-id");
+        userDto.setEncryptedPassword("encrypted");
+        assertThat(userMapper.toUserEntity(userDto)).isEqualTo(strict.map(userDto, UserEntity.class));
+        assertThat(userMapper.toResponseUser(userDto)).isEqualTo(strict.map(userDto, ResponseUser.class));
+
+        UserEntity userEntity = userMapper.toUserEntity(userDto);
+        assertThat(userMapper.toUserDto(userEntity)).isEqualTo(strict.map(userEntity, UserDto.class));
+    }
+
+    @Test
+    void sameResultAsStandardModelMapper() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1L);
+        userEntity.setEmail("user@example.com");
+        userEntity.setName("user");
+        userEntity.setUserId("user-id");
+        userEntity.setEncryptedPassword("encrypted");
+
+        assertThat(userMapper.toUserDto(userEntity)).isEqualTo(new ModelMapper().map(userEntity, UserDto.class));
+        assertThat(userMapper.toResponseUser(userEntity)).isEqualTo(new ModelMapper().map(userEntity, ResponseUser.class));
+
+        ResponseOrder order = new ResponseOrder();
+        order.setOrderId("order-id");
+        order.setProductId("CATALOG-001");
+        order.setQty(2);
+        UserDto userDto = userMapper.toUserDto(userEntity);
+        userDto.setOrders(List.of(order));
+        assertThat(userMapper.toResponseUser(userDto)).isEqualTo(new ModelMapper().map(userDto, ResponseUser.class));
+    }
+}
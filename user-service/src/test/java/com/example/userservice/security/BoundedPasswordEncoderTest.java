@@ -0,0 +1,109 @@
+package com.example.userservice.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodesAndMatchesOnHashingPool() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 2000, meterRegistry);
+
+        String encoded = encoder.encode("password1234");
+
+        assertThat(encoder.matches("password1234", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.timer("password.hash", "op", "encode").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("password.hash", "op", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        fillPool();
+
+        assertThatThrownBy(() -> encoder.encode("rejected")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.counter("password.hash.rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash.queue.depth").gauge().value()).isEqualTo(1);
+    }
+
+    /**
+     * 큐가 가득 차면 timeout 까지 기다리지 않고 바로 거절한다. (perf 태그, -Pperf 로만 실행)
+     */
+    @Test
+    @Tag("perf")
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        fillPool();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("rejected")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(100);
+    }
+
+    @Test
+    void rejectsWhenHashingTakesLongerThanTimeout() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 100, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("password", "encoded"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    private void fillPool() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 5000, meterRegistry);
+
+        // 스레드 1개와 큐 1칸을 채운다.
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        waitUntilQueued();
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (encoder.getQueueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.userservice.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.userservice.entity.UserEntity;
+import com.example.userservice.repository.UserRepository;
+import com.example.userservice.service.UserServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 로그인 부하 harness: DB 조회 지연(DB_LATENCY_MILLIS)을 넣은 UserRepository 로
+ * principal 캐시 사용 전/후 초당 로그인 수를 비교한다. (perf 태그, -Pperf 로만 실행)
+ */
+class LoginThroughputTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PASSWORD = "password1234";
+    private static final long DB_LATENCY_MILLIS = 2;
+    private static final int THREADS = 16;
+    private static final int LOGINS = 2_000;
+
+    // 측정이 해시 비용에 묻히지 않도록 낮은 strength 를 사용한다.
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+    private final UserEntity userEntity = userEntity();
+
+    @Test
+    void tokenIssuingUsesAuthenticatedPrincipal() {
+        UserRepository userRepository = slowRepository();
+        AuthenticationManager authenticationManager = authenticationManager(userRepository, 30_000);
+
+        Authentication first = authenticationManager.authenticate(login());
+        Authentication second = authenticationManager.authenticate(login());
+
+        assertThat(((UserPrincipal) first.getPrincipal()).getUserId()).isEqualTo("user-id");
+        assertThat(((UserPrincipal) second.getPrincipal()).getUserId()).isEqualTo("user-id");
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @Tag("perf")
+    void loginsPerSecondWithAndWithoutPrincipalCache() throws Exception {
+        double uncached = loginsPerSecond(authenticationManager(slowRepository(), 0));
+        double cached = loginsPerSecond(authenticationManager(slowRepository(), 30_000));
+
+        assertThat(cached).isGreaterThan(uncached);
+    }
+
+    private double loginsPerSecond(AuthenticationManager authenticationManager) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Authentication>> logins = new ArrayList<>(LOGINS);
+            for (int i = 0; i < LOGINS; i++) {
+                logins.add(executor.submit(() -> authenticationManager.authenticate(login())));
+            }
+            for (Future<Authentication> login : logins) {
+                assertThat(login.get().isAuthenticated()).isTrue();
+            }
+            return LOGINS / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private AuthenticationManager authenticationManager(UserRepository userRepository, long cacheTtlMillis) {
+        UserServiceImpl userService = new UserServiceImpl(userRepository, encoder, null, null, null,
+                new PrincipalCache(cacheTtlMillis, 100));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userService);
+        provider.setPasswordEncoder(encoder);
+        return new ProviderManager(provider);
+    }
+
+    private UserRepository slowRepository() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(DB_LATENCY_MILLIS);
+            return EMAIL.equals(invocation.getArgument(0)) ? userEntity : null;
+        });
+        return userRepository;
+    }
+
+    private static UsernamePasswordAuthenticationToken login() {
+        return new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD, new ArrayList<>());
+    }
+
+    private UserEntity userEntity() {
+        UserEntity entity = new UserEntity();
+        entity.setId(1L);
+        entity.setEmail(EMAIL);
+        entity.setName("user");
+        entity.setUserId("user-id");
+        entity.setEncryptedPassword(encoder.encode(PASSWORD));
+        return entity;
+    }
+}